@@ -0,0 +1,408 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code <Type>Codec} classes with straight-line read and write code for types annotated with
+ * {@code local.tools.codec.BinaryStruct}, following the same layout rules as runtime {@code StructCodecs}.
+ * Annotations are matched by name, so the processor does not depend on the library itself.
+ */
+@SupportedAnnotationTypes(StructCodecProcessor.BINARY_STRUCT)
+public final class StructCodecProcessor extends AbstractProcessor {
+
+    static final String BINARY_STRUCT = "local.tools.codec.BinaryStruct";
+    static final String BINARY_FIELD = "local.tools.codec.BinaryField";
+    static final String ENDIAN = "local.tools.codec.Endian";
+
+    private static final String ENDIAN_TYPE = "local.tools.bin.EndianType";
+
+    /* Field types of local.tools.primitives and Java primitives: read method, write method, size */
+    private static final Map<String, String[]> FIELD_TYPES = new LinkedHashMap<>();
+
+    static {
+        FIELD_TYPES.put("byte", new String[]{"readByte", "writeByte", "1"});
+        FIELD_TYPES.put("short", new String[]{"readShort", "writeShort", "2"});
+        FIELD_TYPES.put("int", new String[]{"readInt", "writeInt", "4"});
+        FIELD_TYPES.put("long", new String[]{"readLong", "writeLong", "8"});
+        FIELD_TYPES.put("float", new String[]{"readFloat", "writeFloat", "4"});
+        FIELD_TYPES.put("double", new String[]{"readDouble", "writeDouble", "8"});
+        for (String[] type : new String[][]{{"Int8", "1"}, {"Int16", "2"}, {"Int32", "4"}, {"Int64", "8"},
+                {"UInt8", "1"}, {"UInt16", "2"}, {"UInt32", "4"}, {"UInt64", "8"}, {"Float32", "4"}, {"Float64", "8"}}) {
+            FIELD_TYPES.put("local.tools.primitives." + type[0], new String[]{"read" + type[0], "write" + type[0], type[1]});
+        }
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        for (TypeElement annotation : annotations) {
+            for (Element element : round.getElementsAnnotatedWith(annotation)) {
+                if (!(element instanceof TypeElement)) continue;
+                try {
+                    generate((TypeElement) element);
+                } catch (InvalidStructException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, e.getMessage(), e.element);
+                } catch (IOException e) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Cannot write codec: " + e.getMessage(), element);
+                }
+            }
+        }
+        // Only handler of BinaryStruct, claiming it avoids unclaimed annotation warnings
+        return true;
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        String packageName = packageOf(type).getQualifiedName().toString();
+        String codecName = codecName(type);
+        Generator generator = new Generator(packageName);
+        generator.struct(type);
+
+        String qualifiedName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter())) {
+            generator.print(out, packageName, codecName, type);
+        }
+    }
+
+    private static String codecName(TypeElement type) {
+        // Nested types get outer names joined with '_' to stay unique within the package
+        StringBuilder name = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e instanceof TypeElement; e = e.getEnclosingElement()) {
+            name.insert(0, e.getSimpleName() + "_");
+        }
+        return name.append("Codec").toString();
+    }
+
+    private static PackageElement packageOf(Element element) {
+        while (!(element instanceof PackageElement)) element = element.getEnclosingElement();
+        return (PackageElement) element;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Annotation Helpers">
+    private static AnnotationMirror annotation(Element element, String name) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) return mirror;
+        }
+        return null;
+    }
+
+    private static Object value(AnnotationMirror mirror, String name, Object defaultValue) {
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : mirror.getElementValues().entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) return entry.getValue().getValue();
+        }
+        return defaultValue;
+    }
+
+    /* Returns name of EndianType constant from Endian annotation or inherited one */
+    private static String endian(Element element, String inherited) {
+        AnnotationMirror mirror = annotation(element, ENDIAN);
+        if (mirror == null) return inherited;
+        return ((VariableElement) value(mirror, "value", null)).getSimpleName().toString();
+    }
+    //</editor-fold>
+
+    /* Signals layout error reported against the offending element */
+    private static final class InvalidStructException extends RuntimeException {
+
+        final Element element;
+
+        InvalidStructException(Element element, String message) {
+            super(message);
+            this.element = element;
+        }
+    }
+
+    /**
+     * Emits one read and one write method per structure type, nested structures get their own methods.
+     */
+    private final class Generator {
+
+        private final Map<String, Integer> indices = new LinkedHashMap<>();
+        private final List<String> methods = new ArrayList<>();
+        private final List<TypeElement> building = new ArrayList<>();
+        private final Map<String, Integer> sizes = new LinkedHashMap<>();
+
+        /* Package of the generated codec, members of structures are accessed from it */
+        private final String packageName;
+
+        Generator(String packageName) {
+            this.packageName = packageName;
+        }
+
+        /* Generates methods of given structure and returns their index */
+        int struct(TypeElement type) {
+            String name = type.getQualifiedName().toString();
+            Integer index = indices.get(name);
+            if (index != null) return index;
+            if (building.contains(type))
+                throw new InvalidStructException(type, String.format("Structure '%s' contains itself.", name));
+            if (type.getModifiers().contains(Modifier.PRIVATE))
+                throw new InvalidStructException(type, String.format("Structure '%s' must not be private.", name));
+            if (type.getNestingKind().isNested() && !type.getModifiers().contains(Modifier.STATIC) && type.getKind() == ElementKind.CLASS)
+                throw new InvalidStructException(type, String.format("Nested structure '%s' must be static.", name));
+            if (!accessible(type))
+                throw new InvalidStructException(type, String.format("Structure '%s' is not accessible from package '%s'.", name, packageName));
+
+            building.add(type);
+            String endian = endian(type, null);
+            List<Element> fields = new ArrayList<>();
+            boolean record = (type.getKind() == ElementKind.RECORD);
+            if (record) {
+                fields.addAll(type.getRecordComponents());
+                if (!accessible(canonicalConstructor(type)))
+                    throw new InvalidStructException(type, String.format("Canonical constructor of '%s' is not accessible from package '%s'.", name, packageName));
+            } else if (annotation(type, BINARY_STRUCT) != null) {
+                if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT))
+                    throw new InvalidStructException(type, String.format("Structure '%s' must be a concrete class.", name));
+                if (!accessible(noArgConstructor(type)))
+                    throw new InvalidStructException(type, String.format("Structure '%s' has no no-argument constructor accessible from package '%s'.", name, packageName));
+                fields.addAll(classFields(type));
+            } else {
+                throw new InvalidStructException(type, String.format("Type '%s' is neither record nor annotated with @BinaryStruct.", name));
+            }
+
+            StringBuilder read = new StringBuilder();
+            StringBuilder write = new StringBuilder();
+            List<String> variables = new ArrayList<>();
+            int size = 0;
+            for (Element field : fields) {
+                String fieldName = field.getSimpleName().toString();
+                // Structure byte order is applied once at method start, fields override it
+                String fieldEndian = endian(field, null);
+                String reader = (fieldEndian == null) ? "reader" : "reader.withEndianType(" + ENDIAN_TYPE + "." + fieldEndian + ")";
+                String writer = (fieldEndian == null) ? "writer" : "writer.withEndianType(" + ENDIAN_TYPE + "." + fieldEndian + ")";
+                String getter = record ? "value." + fieldName + "()" : "value." + fieldName;
+                TypeMirror fieldType = field.asType();
+
+                String[] known = FIELD_TYPES.get(erasure(fieldType));
+                String readExpr;
+                String writeStmt;
+                if (known != null) {
+                    readExpr = reader + "." + known[0] + "()";
+                    writeStmt = writer + "." + known[1] + "(" + getter + ");";
+                    size += Integer.parseInt(known[2]);
+                } else if (fieldType.getKind() == TypeKind.BOOLEAN) {
+                    readExpr = reader + ".readByte() != 0";
+                    writeStmt = writer + ".writeByte(" + getter + " ? 1 : 0);";
+                    size += 1;
+                } else if (fieldType.getKind() == TypeKind.CHAR) {
+                    readExpr = "(char) " + reader + ".readShort()";
+                    writeStmt = writer + ".writeShort(" + getter + ");";
+                    size += 2;
+                } else if (fieldType.getKind() == TypeKind.DECLARED && isStruct((TypeElement) ((DeclaredType) fieldType).asElement())) {
+                    int nested = struct((TypeElement) ((DeclaredType) fieldType).asElement());
+                    readExpr = "read" + nested + "(" + reader + ")";
+                    writeStmt = "write" + nested + "(" + writer + ", " + getter + ");";
+                    size += sizes.get(((TypeElement) ((DeclaredType) fieldType).asElement()).getQualifiedName().toString());
+                } else {
+                    throw new InvalidStructException(field, String.format("Field '%s' of '%s' has unsupported type '%s'.", fieldName, name, fieldType));
+                }
+
+                if (record) {
+                    String variable = "_" + fieldName;
+                    read.append("        ").append(typeName(fieldType)).append(' ').append(variable).append(" = ").append(readExpr).append(";\n");
+                    variables.add(variable);
+                } else {
+                    read.append("        value.").append(fieldName).append(" = ").append(readExpr).append(";\n");
+                }
+                write.append("        ").append(writeStmt).append('\n');
+            }
+            building.remove(type);
+
+            index = indices.size();
+            indices.put(name, index);
+            sizes.put(name, size);
+
+            String typeName = typeName(type.asType());
+            StringBuilder method = new StringBuilder();
+            method.append("    private static ").append(typeName).append(" read").append(index)
+                    .append("(NumberReader reader) throws IOException {\n");
+            if (endian != null) {
+                method.append("        reader = reader.withEndianType(" + ENDIAN_TYPE + "." + endian + ");\n");
+            }
+            if (record) {
+                method.append(read).append("        return new ").append(typeName).append('(').append(String.join(", ", variables)).append(");\n");
+            } else {
+                method.append("        ").append(typeName).append(" value = new ").append(typeName).append("();\n")
+                        .append(read).append("        return value;\n");
+            }
+            method.append("    }\n\n");
+            method.append("    private static void write").append(index).append("(NumberWriter writer, ").append(typeName)
+                    .append(" value) throws IOException {\n");
+            if (endian != null) {
+                method.append("        writer = writer.withEndianType(" + ENDIAN_TYPE + "." + endian + ");\n");
+            }
+            method.append(write).append("    }\n");
+            methods.add(method.toString());
+            return index;
+        }
+
+        /* Fields annotated with BinaryField sorted by order */
+        private List<Element> classFields(TypeElement type) {
+            List<VariableElement> fields = new ArrayList<>();
+            for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+                AnnotationMirror mirror = annotation(field, BINARY_FIELD);
+                if (mirror == null) continue;
+                Set<Modifier> modifiers = field.getModifiers();
+                if (modifiers.contains(Modifier.STATIC) || modifiers.contains(Modifier.FINAL) || modifiers.contains(Modifier.PRIVATE))
+                    throw new InvalidStructException(field, String.format("Field '%s' must not be static, final or private.", field.getSimpleName()));
+                if (!accessible(field))
+                    throw new InvalidStructException(field, String.format("Field '%s' is not accessible from package '%s'.", field.getSimpleName(), packageName));
+                fields.add(field);
+            }
+            fields.sort(Comparator.comparingInt(StructCodecProcessor::order));
+            for (int i = 1; i < fields.size(); ++i) {
+                if (order(fields.get(i - 1)) == order(fields.get(i)))
+                    throw new InvalidStructException(fields.get(i), String.format("Fields '%s' and '%s' have the same order.",
+                            fields.get(i - 1).getSimpleName(), fields.get(i).getSimpleName()));
+            }
+            return new ArrayList<>(fields);
+        }
+
+        /* Checks if element and its enclosing types can be referenced from the codec package, null is never accessible */
+        private boolean accessible(Element element) {
+            if (element == null) return false;
+            Set<Modifier> modifiers = element.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE)) return false;
+            if (!modifiers.contains(Modifier.PUBLIC) && !packageOf(element).getQualifiedName().contentEquals(packageName)) return false;
+            Element outer = element.getEnclosingElement();
+            return !(outer instanceof TypeElement) || accessible(outer);
+        }
+
+        private ExecutableElement noArgConstructor(TypeElement type) {
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getParameters().isEmpty()) return constructor;
+            }
+            return null;
+        }
+
+        private ExecutableElement canonicalConstructor(TypeElement type) {
+            List<? extends RecordComponentElement> components = type.getRecordComponents();
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                List<? extends VariableElement> parameters = constructor.getParameters();
+                if (parameters.size() != components.size()) continue;
+                boolean canonical = true;
+                for (int i = 0; i < parameters.size() && canonical; ++i) {
+                    canonical = processingEnv.getTypeUtils().isSameType(parameters.get(i).asType(), components.get(i).asType());
+                }
+                if (canonical) return constructor;
+            }
+            return null;
+        }
+
+        private boolean isStruct(TypeElement type) {
+            return type.getKind() == ElementKind.RECORD || annotation(type, BINARY_STRUCT) != null;
+        }
+
+        private String erasure(TypeMirror type) {
+            return processingEnv.getTypeUtils().erasure(type).toString();
+        }
+
+        private String typeName(TypeMirror type) {
+            return erasure(type);
+        }
+
+        void print(PrintWriter out, String packageName, String codecName, TypeElement type) {
+            String typeName = typeName(type.asType());
+            int size = sizes.get(type.getQualifiedName().toString());
+            if (!packageName.isEmpty()) {
+                out.println("package " + packageName + ";");
+                out.println();
+            }
+            out.println("import local.tools.bin.NumberReader;");
+            out.println("import local.tools.bin.NumberWriter;");
+            out.println("import local.tools.codec.StructCodec;");
+            out.println();
+            out.println("import java.io.IOException;");
+            out.println();
+            // Comment instead of @Generated, which no processor claims and -Xlint would report
+            out.println("/* Generated by " + StructCodecProcessor.class.getName() + " */");
+            out.println("public final class " + codecName + " implements StructCodec<" + typeName + "> {");
+            out.println();
+            out.println("    public static final int SIZE = " + size + ";");
+            out.println();
+            out.println("    public static final " + codecName + " INSTANCE = new " + codecName + "();");
+            out.println();
+            out.println("    @Override");
+            out.println("    public Class<" + typeName + "> type() {");
+            out.println("        return " + typeName + ".class;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public int size() {");
+            out.println("        return SIZE;");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public " + typeName + " read(NumberReader reader) throws IOException {");
+            out.println("        return read" + indices.get(type.getQualifiedName().toString()) + "(reader);");
+            out.println("    }");
+            out.println();
+            out.println("    @Override");
+            out.println("    public void write(NumberWriter writer, " + typeName + " value) throws IOException {");
+            out.println("        write" + indices.get(type.getQualifiedName().toString()) + "(writer, value);");
+            out.println("    }");
+            for (String method : methods) {
+                out.println();
+                out.print(method);
+            }
+            out.println("}");
+        }
+    }
+
+    private static int order(VariableElement field) {
+        return (Integer) value(annotation(field, BINARY_FIELD), "order", 0);
+    }
+}
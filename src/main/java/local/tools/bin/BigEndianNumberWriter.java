@@ -27,105 +27,252 @@ import local.tools.primitives.*;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Objects;
 
 /**
  * @author dell
  */
 public class BigEndianNumberWriter implements NumberWriter {
 
-    private final OutputStream target;
+    private final OutputBuffer target;
+    private NumberWriter swapped;
 
+    /**
+     * Note: bytes are buffered and written to the target on {@link #flush()}.
+     */
     public BigEndianNumberWriter(OutputStream target) {
+        this(new OutputBuffer(target, BinaryWriter.DEFAULT_BUFFER_SIZE));
+    }
+
+    BigEndianNumberWriter(OutputBuffer target) {
         this.target = target;
     }
 
+    @Override
+    public NumberWriter withEndianType(EndianType endianType) {
+        if (endianType == EndianType.BigEndian) return this;
+        if (swapped == null) swapped = new LittleEndianNumberWriter(target);
+        return swapped;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        target.flush();
+    }
+
     //<editor-fold defaultstate="collapsed" desc="Basic Java Types">
     @Override
     public void writeByte(int v) throws IOException {
-        writeInt8(new Int8(v));
+        int i = target.reserve(Byte.BYTES);
+        target.data[i] = (byte) v;
     }
 
     @Override
     public void writeShort(int v) throws IOException {
-        writeInt16(new Int16(v));
+        int i = target.reserve(Short.BYTES);
+        ByteViews.SHORT_BE.set(target.data, i, (short) v);
     }
 
     @Override
     public void writeInt(int v) throws IOException {
-        writeInt32(new Int32(v));
+        int i = target.reserve(Integer.BYTES);
+        ByteViews.INT_BE.set(target.data, i, v);
     }
 
     @Override
     public void writeLong(long v) throws IOException {
-        writeInt64(new Int64(v));
+        int i = target.reserve(Long.BYTES);
+        ByteViews.LONG_BE.set(target.data, i, v);
     }
 
     @Override
     public void writeFloat(float v) throws IOException {
-        byte[] data = new Float32(v).getBytes();
-        target.write(data);
+        writeInt(Float.floatToRawIntBits(v));
     }
 
     @Override
     public void writeDouble(double v) throws IOException {
-        byte[] data = new Float64(v).getBytes();
-        target.write(data);
+        writeLong(Double.doubleToRawLongBits(v));
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Universal Primitives">
     @Override
     public void writeInt8(Int8 v) throws IOException {
-        target.write(v.getBytes());
+        writeByte(v.intValue());
     }
 
     @Override
     public void writeInt16(Int16 v) throws IOException {
-        target.write(v.getBytes());
+        writeShort(v.intValue());
     }
 
     @Override
     public void writeInt32(Int32 v) throws IOException {
-        target.write(v.getBytes());
+        writeInt(v.intValue());
     }
 
     @Override
     public void writeInt64(Int64 v) throws IOException {
-        target.write(v.getBytes());
+        writeLong(v.longValue());
     }
 
     @Override
     public void writeFloat32(Float32 v) throws IOException {
-        byte[] data = v.getBytes();
-        target.write(data);
+        writeFloat(v.floatValue());
     }
 
     @Override
     public void writeFloat64(Float64 v) throws IOException {
-        byte[] data = v.getBytes();
-        target.write(data);
+        writeDouble(v.doubleValue());
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Unsigned Universal Primitives">
     @Override
     public void writeUInt8(UInt8 v) throws IOException {
-        target.write(v.getBytes());
+        writeByte(v.intValue());
     }
 
     @Override
     public void writeUInt16(UInt16 v) throws IOException {
-        target.write(v.getBytes());
+        writeShort(v.intValue());
     }
 
     @Override
     public void writeUInt32(UInt32 v) throws IOException {
-        target.write(v.getBytes());
+        writeInt(v.intValue());
     }
 
     @Override
     public void writeUInt64(UInt64 v) throws IOException {
-        target.write(v.getBytes());
+        writeLong(v.longValue());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Variable Length Integers">
+    @Override
+    public void writeVarInt(int v) throws IOException {
+        target.writeVarInt(v);
+    }
+
+    @Override
+    public void writeVarLong(long v) throws IOException {
+        target.writeVarLong(v);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Bulk Arrays">
+    @Override
+    public void writeShorts(short[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Short.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Short.BYTES) {
+                ByteViews.SHORT_BE.set(data, i, src[off]);
+            }
+            target.count += n * Short.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeChars(char[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Character.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Character.BYTES) {
+                ByteViews.SHORT_BE.set(data, i, (short) src[off]);
+            }
+            target.count += n * Character.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeInts(int[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Integer.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Integer.BYTES) {
+                ByteViews.INT_BE.set(data, i, src[off]);
+            }
+            target.count += n * Integer.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeLongs(long[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Long.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Long.BYTES) {
+                ByteViews.LONG_BE.set(data, i, src[off]);
+            }
+            target.count += n * Long.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeFloats(float[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Float.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Float.BYTES) {
+                ByteViews.INT_BE.set(data, i, Float.floatToRawIntBits(src[off]));
+            }
+            target.count += n * Float.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeDoubles(double[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Double.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Double.BYTES) {
+                ByteViews.LONG_BE.set(data, i, Double.doubleToRawLongBits(src[off]));
+            }
+            target.count += n * Double.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeUInt16s(int[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Short.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Short.BYTES) {
+                ByteViews.SHORT_BE.set(data, i, (short) src[off]);
+            }
+            target.count += n * Short.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void writeUInt32s(long[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        while (len > 0) {
+            int n = target.require(len, Integer.BYTES);
+            byte[] data = target.data;
+            for (int i = target.count, end = off + n; off < end; ++off, i += Integer.BYTES) {
+                ByteViews.INT_BE.set(data, i, (int) src[off]);
+            }
+            target.count += n * Integer.BYTES;
+            len -= n;
+        }
     }
     //</editor-fold>
 }
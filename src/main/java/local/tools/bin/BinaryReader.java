@@ -25,18 +25,18 @@ package local.tools.bin;
 
 import local.tools.primitives.*;
 
+import java.io.EOFException;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.Charset;
 
 /**
  * Binary Reader class created to read from any binary Input Sources (Big Endian and Little Endian).
  */
-public final class BinaryReader extends InputStream implements AutoCloseable {
+public final class BinaryReader extends InputStream implements NumberReader, AutoCloseable {
 
     /* End Of Line symbol */
     private final static char EOL = '\0';
@@ -44,22 +44,43 @@ public final class BinaryReader extends InputStream implements AutoCloseable {
     private final static char NL = '\n';
     private final static char CR = '\r';
 
-    private final InputStream source;
+    public final static int DEFAULT_BUFFER_SIZE = 8192;
+
+    private final InputBuffer source;
     private final EndianType endianType;
 
     private NumberReader numberReader;
-    private long position = 0;
+    private StringCache stringCache;
 
     //<editor-fold defaultstate="collapsed" desc="Constructors">
-    public BinaryReader(InputStream source, EndianType endianType) {
-        this.source = source;
+    public BinaryReader(InputStream source, EndianType endianType, int bufferSize) {
+        this.source = new InputBuffer(source, bufferSize);
+        this.endianType = endianType;
+
+        init();
+    }
+
+    public BinaryReader(String filename, EndianType endianType, int bufferSize) throws FileNotFoundException {
+        this(new FileInputStream(filename), endianType, bufferSize);
+    }
+
+    public BinaryReader(SeekableByteChannel channel, EndianType endianType, int bufferSize) {
+        this.source = new InputBuffer(channel, bufferSize);
         this.endianType = endianType;
 
         init();
     }
 
+    public BinaryReader(SeekableByteChannel channel, EndianType endianType) {
+        this(channel, endianType, DEFAULT_BUFFER_SIZE);
+    }
+
+    public BinaryReader(InputStream source, EndianType endianType) {
+        this(source, endianType, DEFAULT_BUFFER_SIZE);
+    }
+
     public BinaryReader(String filename, EndianType endianType) throws FileNotFoundException {
-        this(new FileInputStream(filename), endianType);
+        this(filename, endianType, DEFAULT_BUFFER_SIZE);
     }
 
     public BinaryReader(InputStream source) {
@@ -84,20 +105,84 @@ public final class BinaryReader extends InputStream implements AutoCloseable {
     //</editor-fold>
 
     public long getPosition() {
-        return position;
+        return source.getPosition();
+    }
+
+    /**
+     * Returns false at end of source, unlike {@link #available()} it blocks until next byte or end is known.
+     */
+    public boolean hasRemaining() throws IOException {
+        return source.hasRemaining();
+    }
+
+    public EndianType getEndianType() {
+        return endianType;
+    }
+
+    /**
+     * Returns number reader over the same buffer in given byte order, so byte orders can be mixed within one record.
+     */
+    @Override
+    public NumberReader withEndianType(EndianType endianType) {
+        if (endianType == this.endianType) return this;
+        return numberReader.withEndianType(endianType);
+    }
+
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    /**
+     * Sets cache used by string methods to deduplicate repeated strings, null disables caching.
+     */
+    public void setStringCache(StringCache stringCache) {
+        this.stringCache = stringCache;
     }
 
     @Override
     public long skip(long count) throws IOException {
-        this.position += count;
         return source.skip(count);
     }
 
+    /**
+     * Moves to absolute position. File and channel sources seek anywhere, other streams seek forward
+     * and back within the retained window or to the mark.
+     */
     public void seek(long position) throws IOException {
-        if (position >= this.position) throw new IOException("Requested seek back which is not supported.");
+        source.seek(position);
+    }
+
+    /**
+     * Returns true if the source is a file or channel which supports seeking to any position.
+     */
+    public boolean isSeekable() {
+        return source.isSeekable();
+    }
+
+    public int getWindowSize() {
+        return source.getWindowSize();
+    }
+
+    /**
+     * Sets number of already read bytes kept in the buffer for seeking back in non-seekable streams.
+     */
+    public void setWindowSize(int windowSize) {
+        source.setWindowSize(windowSize);
+    }
 
-        long count = position - this.position;
-        skip(count);
+    @Override
+    public boolean markSupported() {
+        return source.markSupported();
+    }
+
+    @Override
+    public void mark(int readLimit) {
+        source.mark(readLimit);
+    }
+
+    @Override
+    public void reset() throws IOException {
+        source.reset();
     }
 
     @Override
@@ -113,30 +198,30 @@ public final class BinaryReader extends InputStream implements AutoCloseable {
     //<editor-fold defaultstate="collapsed" desc="InputStream Proxy Methods">
     @Override
     public int read() throws IOException {
-        this.position += 1;
         return source.read();
     }
 
     @Override
     public int read(byte[] buffer) throws IOException {
-        int r = source.read(buffer);
-        this.position += r;
-        return r;
+        return source.read(buffer, 0, buffer.length);
     }
 
     @Override
     public int read(byte[] buffer, int index, int count) throws IOException {
-        int r = source.read(buffer, index, count);
-        this.position += r;
-        return r;
+        return source.read(buffer, index, count);
     }
 
-    //TODO: Method need to throw IO if less than count bytes read
     public byte[] readBytes(int count) throws IOException {
-        byte[] bytes = new byte[count];
-        int r = read(bytes);
-        if (r < 0) return new byte[0];
-        return (r == count) ? bytes : Arrays.copyOf(bytes, r);
+        byte[] bytes = readNBytes(count);
+        if (bytes.length < count)
+            throw new EOFException(String.format("Requested %d bytes but only %d available.", count, bytes.length));
+        return bytes;
+    }
+
+    @Override
+    public void readBytes(byte[] dst, int off, int len) throws IOException {
+        if (readNBytes(dst, off, len) < len)
+            throw new EOFException(String.format("Requested %d bytes but stream ended.", len));
     }
     //</editor-fold>
 
@@ -146,111 +231,270 @@ public final class BinaryReader extends InputStream implements AutoCloseable {
     }
 
     public byte readByte() throws IOException {
-        this.position += Byte.BYTES;
         return numberReader.readByte();
     }
 
     public char readChar() throws IOException {
-        this.position += Short.BYTES;
         return (char) numberReader.readShort();
     }
 
     public short readShort() throws IOException {
-        this.position += Short.BYTES;
         return (short) numberReader.readShort();
     }
 
     public int readInt() throws IOException {
-        this.position += Integer.BYTES;
         return numberReader.readInt();
     }
 
     public long readLong() throws IOException {
-        this.position += Long.BYTES;
         return numberReader.readLong();
     }
 
     public float readFloat() throws IOException {
-        this.position += Float.BYTES;
         return Float.intBitsToFloat(numberReader.readInt());
     }
 
     public double readDouble() throws IOException {
-        this.position += Double.BYTES;
         return Double.longBitsToDouble(numberReader.readLong());
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Read Universal Primitives">
     public Int8 readInt8() throws IOException {
-        this.position += Byte.BYTES;
         return numberReader.readInt8();
     }
 
     public Int16 readInt16() throws IOException {
-        this.position += Short.BYTES;
         return numberReader.readInt16();
     }
 
     public Int32 readInt32() throws IOException {
-        this.position += Integer.BYTES;
         return numberReader.readInt32();
     }
 
     public Int64 readInt64() throws IOException {
-        this.position += Long.BYTES;
         return numberReader.readInt64();
     }
 
     public UInt8 readUInt8() throws IOException {
-        this.position += Byte.BYTES;
         return numberReader.readUInt8();
     }
 
     public UInt16 readUInt16() throws IOException {
-        this.position += Short.BYTES;
         return numberReader.readUInt16();
     }
 
     public UInt32 readUInt32() throws IOException {
-        this.position += Integer.BYTES;
         return numberReader.readUInt32();
     }
 
     public UInt64 readUInt64() throws IOException {
-        this.position += Long.BYTES;
         return numberReader.readUInt64();
     }
 
     public Float32 readFloat32() throws IOException {
-        this.position += Float.BYTES;
         return numberReader.readFloat32();
     }
 
     public Float64 readFloat64() throws IOException {
-        this.position += Double.BYTES;
         return numberReader.readFloat64();
     }
     //</editor-fold>
 
+    //<editor-fold defaultstate="collapsed" desc="Read Unsigned Primitives">
+    @Override
+    public int readUInt8AsInt() throws IOException {
+        return numberReader.readUInt8AsInt();
+    }
+
+    @Override
+    public int readUInt16AsInt() throws IOException {
+        return numberReader.readUInt16AsInt();
+    }
+
+    @Override
+    public long readUInt32AsLong() throws IOException {
+        return numberReader.readUInt32AsLong();
+    }
+
+    @Override
+    public long readUInt64AsLong() throws IOException {
+        return numberReader.readUInt64AsLong();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Variable Length Integers">
+    @Override
+    public int readVarInt() throws IOException {
+        return numberReader.readVarInt();
+    }
+
+    @Override
+    public long readVarLong() throws IOException {
+        return numberReader.readVarLong();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Into Mutable Holders">
+    @Override
+    public MutableInt8 readInt8(MutableInt8 into) throws IOException {
+        return numberReader.readInt8(into);
+    }
+
+    @Override
+    public MutableUInt8 readUInt8(MutableUInt8 into) throws IOException {
+        return numberReader.readUInt8(into);
+    }
+
+    @Override
+    public MutableInt16 readInt16(MutableInt16 into) throws IOException {
+        return numberReader.readInt16(into);
+    }
+
+    @Override
+    public MutableUInt16 readUInt16(MutableUInt16 into) throws IOException {
+        return numberReader.readUInt16(into);
+    }
+
+    @Override
+    public MutableInt32 readInt32(MutableInt32 into) throws IOException {
+        return numberReader.readInt32(into);
+    }
+
+    @Override
+    public MutableUInt32 readUInt32(MutableUInt32 into) throws IOException {
+        return numberReader.readUInt32(into);
+    }
+
+    @Override
+    public MutableInt64 readInt64(MutableInt64 into) throws IOException {
+        return numberReader.readInt64(into);
+    }
+
+    @Override
+    public MutableUInt64 readUInt64(MutableUInt64 into) throws IOException {
+        return numberReader.readUInt64(into);
+    }
+
+    @Override
+    public MutableFloat32 readFloat32(MutableFloat32 into) throws IOException {
+        return numberReader.readFloat32(into);
+    }
+
+    @Override
+    public MutableFloat64 readFloat64(MutableFloat64 into) throws IOException {
+        return numberReader.readFloat64(into);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Bulk Arrays">
+    @Override
+    public void readShorts(short[] dst, int off, int len) throws IOException {
+        numberReader.readShorts(dst, off, len);
+    }
+
+    @Override
+    public void readInts(int[] dst, int off, int len) throws IOException {
+        numberReader.readInts(dst, off, len);
+    }
+
+    @Override
+    public void readLongs(long[] dst, int off, int len) throws IOException {
+        numberReader.readLongs(dst, off, len);
+    }
+
+    @Override
+    public void readFloats(float[] dst, int off, int len) throws IOException {
+        numberReader.readFloats(dst, off, len);
+    }
+
+    @Override
+    public void readDoubles(double[] dst, int off, int len) throws IOException {
+        numberReader.readDoubles(dst, off, len);
+    }
+
+    @Override
+    public void readUInt16s(int[] dst, int off, int len) throws IOException {
+        numberReader.readUInt16s(dst, off, len);
+    }
+
+    @Override
+    public void readUInt32s(long[] dst, int off, int len) throws IOException {
+        numberReader.readUInt32s(dst, off, len);
+    }
+    //</editor-fold>
+
     //<editor-fold defaultstate="collapsed" desc="Read Strings">    
+    /**
+     * Reads null-terminated string in platform default charset. End of source also terminates the string.
+     */
     public String readString() throws IOException {
-        List<Byte> buffer = new ArrayList<>();
-        while (true) {
-            byte b = (byte) read();
-            if ((char) b == END || (char) b == EOL) break;
-            buffer.add(b);
-        }
-        byte[] data = new byte[buffer.size()];
-        for (int i = 0, len = buffer.size(); i < len; ++i) {
-            data[i] = buffer.get(i);
-        }
-        return new String(data);
+        return readString(Charset.defaultCharset(), Integer.MAX_VALUE);
+    }
+
+    public String readString(Charset charset) throws IOException {
+        return readString(charset, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Reads null-terminated string of at most maxLength bytes, terminator is consumed if found within them.
+     * Charset must encode characters without zero bytes (e.g. ASCII, ISO-8859-1, UTF-8).
+     */
+    public String readString(Charset charset, int maxLength) throws IOException {
+        if (maxLength < 0)
+            throw new IllegalArgumentException(String.format("Max length '%d' is negative.", maxLength));
+        int length = source.scan(maxLength);
+        byte[] data = source.data;
+        int index = source.offset;
+        String str = decode(data, index, length, charset);
+        index += length;
+        if (index < source.limit && data[index] == EOL) ++index;
+        source.offset = index;
+        return str;
     }
 
     public String readString(int length) throws IOException {
-        byte[] data = readBytes(length);
-        return new String(data);
+        return readString(length, Charset.defaultCharset());
+    }
+
+    /**
+     * Reads string of fixed length in bytes, throws EOFException if source has less bytes left.
+     */
+    public String readString(int length, Charset charset) throws IOException {
+        if (length < 0)
+            throw new IllegalArgumentException(String.format("Length '%d' is negative.", length));
+        int index = source.take(length);
+        return decode(source.data, index, length, charset);
+    }
+
+    /**
+     * Reads string prefixed by its length in bytes, payload is decoded with one bulk copy.
+     */
+    public String readString(LengthPrefix prefix, Charset charset) throws IOException {
+        long length;
+        switch (prefix) {
+            case UInt8:
+                length = readUInt8AsInt();
+                break;
+            case UInt16:
+                length = readUInt16AsInt();
+                break;
+            case UInt32:
+                length = readUInt32AsLong();
+                break;
+            default:
+            case SevenBitEncoded:
+                length = read7BitEncodedInt();
+                break;
+        }
+        if (length < 0 || length > Integer.MAX_VALUE)
+            throw new IOException(String.format("String length '%d' is out of supported range.", length));
+        return readString((int) length, charset);
+    }
+
+    private String decode(byte[] data, int index, int length, Charset charset) {
+        if (stringCache != null) return stringCache.get(data, index, length, charset);
+        return new String(data, index, length, charset);
     }
 
     public char[] readChars(int count) throws IOException {
@@ -29,28 +29,40 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.charset.Charset;
 
 /**
  * Binary Writer class created to write to any binary output streams (Big Endian and Little Endian).
+ * Output is buffered, so the writer must be flushed or closed to reach the target.
  */
-public class BinaryWriter extends OutputStream implements AutoCloseable {
+public class BinaryWriter extends OutputStream implements NumberWriter, AutoCloseable {
 
-    private final static char EOL = '\0';
+    public final static int DEFAULT_BUFFER_SIZE = 8192;
 
-    private final OutputStream target;
+    private final OutputBuffer target;
     private final EndianType endianType;
 
     private NumberWriter numberWriter;
+    private final StringEncoder stringEncoder;
 
-    public BinaryWriter(OutputStream target, EndianType endianType) {
-        this.target = target;
+    public BinaryWriter(OutputStream target, EndianType endianType, int bufferSize) {
+        this.target = new OutputBuffer(target, bufferSize);
         this.endianType = endianType;
+        this.stringEncoder = new StringEncoder(this.target);
 
         init();
     }
 
+    public BinaryWriter(String filename, EndianType endianType, int bufferSize) throws FileNotFoundException {
+        this(new FileOutputStream(filename), endianType, bufferSize);
+    }
+
+    public BinaryWriter(OutputStream target, EndianType endianType) {
+        this(target, endianType, DEFAULT_BUFFER_SIZE);
+    }
+
     public BinaryWriter(String filename, EndianType endianType) throws FileNotFoundException {
-        this(new FileOutputStream(filename), endianType);
+        this(filename, endianType, DEFAULT_BUFFER_SIZE);
     }
 
     public BinaryWriter(OutputStream target) {
@@ -73,6 +85,19 @@ public class BinaryWriter extends OutputStream implements AutoCloseable {
         }
     }
 
+    public EndianType getEndianType() {
+        return endianType;
+    }
+
+    /**
+     * Returns number writer over the same buffer in given byte order, so byte orders can be mixed within one record.
+     */
+    @Override
+    public NumberWriter withEndianType(EndianType endianType) {
+        if (endianType == this.endianType) return this;
+        return numberWriter.withEndianType(endianType);
+    }
+
     //<editor-fold defaultstate="collapsed" desc="OutputStream Proxy Methods">
     @Override
     public void write(int b) throws IOException {
@@ -81,7 +106,7 @@ public class BinaryWriter extends OutputStream implements AutoCloseable {
 
     @Override
     public void write(byte[] buffer) throws IOException {
-        target.write(buffer);
+        target.write(buffer, 0, buffer.length);
     }
 
     @Override
@@ -89,6 +114,11 @@ public class BinaryWriter extends OutputStream implements AutoCloseable {
         target.write(buffer, offset, length);
     }
 
+    @Override
+    public void writeBytes(byte[] src, int off, int len) throws IOException {
+        target.write(src, off, len);
+    }
+
     @Override
     public void flush() throws IOException {
         target.flush();
@@ -121,6 +151,10 @@ public class BinaryWriter extends OutputStream implements AutoCloseable {
         numberWriter.writeShort(value);
     }
 
+    public void writeShort(int value) throws IOException {
+        numberWriter.writeShort(value);
+    }
+
     public final void writeInt(int value) throws IOException {
         numberWriter.writeInt(value);
     }
@@ -183,17 +217,145 @@ public class BinaryWriter extends OutputStream implements AutoCloseable {
     }
     //</editor-fold>
 
+    //<editor-fold defaultstate="collapsed" desc="Write Unsigned Primitives">
+    @Override
+    public void writeUInt8(int value) throws IOException {
+        numberWriter.writeUInt8(value);
+    }
+
+    @Override
+    public void writeUInt16(int value) throws IOException {
+        numberWriter.writeUInt16(value);
+    }
+
+    @Override
+    public void writeUInt32(long value) throws IOException {
+        numberWriter.writeUInt32(value);
+    }
+
+    @Override
+    public void writeUInt64(long value) throws IOException {
+        numberWriter.writeUInt64(value);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Variable Length Integers">
+    @Override
+    public void writeVarInt(int v) throws IOException {
+        numberWriter.writeVarInt(v);
+    }
+
+    @Override
+    public void writeVarLong(long v) throws IOException {
+        numberWriter.writeVarLong(v);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Bulk Arrays">
+    @Override
+    public void writeChars(char[] src, int off, int len) throws IOException {
+        numberWriter.writeChars(src, off, len);
+    }
+
+    @Override
+    public void writeShorts(short[] src, int off, int len) throws IOException {
+        numberWriter.writeShorts(src, off, len);
+    }
+
+    @Override
+    public void writeInts(int[] src, int off, int len) throws IOException {
+        numberWriter.writeInts(src, off, len);
+    }
+
+    @Override
+    public void writeLongs(long[] src, int off, int len) throws IOException {
+        numberWriter.writeLongs(src, off, len);
+    }
+
+    @Override
+    public void writeFloats(float[] src, int off, int len) throws IOException {
+        numberWriter.writeFloats(src, off, len);
+    }
+
+    @Override
+    public void writeDoubles(double[] src, int off, int len) throws IOException {
+        numberWriter.writeDoubles(src, off, len);
+    }
+
+    @Override
+    public void writeUInt16s(int[] src, int off, int len) throws IOException {
+        numberWriter.writeUInt16s(src, off, len);
+    }
+
+    @Override
+    public void writeUInt32s(long[] src, int off, int len) throws IOException {
+        numberWriter.writeUInt32s(src, off, len);
+    }
+    //</editor-fold>
+
     //<editor-fold defaultstate="collapsed" desc="Write Strings">
+    /**
+     * Writes null-terminated string in platform default charset.
+     */
     public final void writeBytes(String str) throws IOException {
-        byte[] data = str.getBytes();
-        target.write(data);
-        target.write(EOL);
+        writeString(str, Charset.defaultCharset());
     }
 
-    public final void writeChars(char[] chars) throws IOException {
-        for (int i = 0; i < chars.length; ++i) {
-            writeChar(chars[i]);
+    public void writeString(String str) throws IOException {
+        writeString(str, Charset.defaultCharset());
+    }
+
+    /**
+     * Writes string followed by zero character (two zero bytes for UTF-16).
+     */
+    public void writeString(String str, Charset charset) throws IOException {
+        stringEncoder.write(str, charset, true);
+    }
+
+    /**
+     * Writes string prefixed by its encoded length in bytes, without terminator.
+     */
+    public void writeString(String str, LengthPrefix prefix, Charset charset) throws IOException {
+        int length = stringEncoder.encodedLength(str, charset);
+        byte[] data = null;
+        if (length < 0) {
+            data = str.getBytes(charset);
+            length = data.length;
         }
+        if (length > prefix.getMaxLength())
+            throw new IllegalArgumentException(String.format("String length '%d' is out of %s prefix range.", length, prefix));
+
+        switch (prefix) {
+            case UInt8:
+                writeByte(length);
+                break;
+            case UInt16:
+                writeShort(length);
+                break;
+            case UInt32:
+                writeInt(length);
+                break;
+            default:
+            case SevenBitEncoded:
+                write7BitEncodedInt(length);
+                break;
+        }
+        if (data != null) {
+            target.write(data, 0, length);
+        } else {
+            stringEncoder.write(str, charset, false);
+        }
+    }
+
+    /**
+     * Writes UTF-16 code units of the string in writer byte order, without terminator.
+     */
+    public void writeChars(String str) throws IOException {
+        stringEncoder.writeUtf16(str, endianType == EndianType.BigEndian, false);
+    }
+
+    public final void writeChars(char[] chars) throws IOException {
+        writeChars(chars, 0, chars.length);
     }
     //</editor-fold>
 }
@@ -0,0 +1,127 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+
+/**
+ * Bit-level reader of unsigned and signed fields of 1 to 64 bits on top of any {@link NumberReader}.
+ * Bits are kept in 64-bit accumulator refilled byte by byte, only as many bytes as requested fields need
+ * are taken from the source, so it can be used again after {@link #alignToByte()}.
+ */
+public final class BitReader {
+
+    private final NumberReader source;
+    private final BitOrder bitOrder;
+
+    /* Buffered bits, MsbFirst keeps them in lowest count bits with the next one highest, LsbFirst with the next one lowest */
+    private long accumulator = 0;
+    private int count = 0;
+
+    public BitReader(NumberReader source, BitOrder bitOrder) {
+        this.source = source;
+        this.bitOrder = bitOrder;
+    }
+
+    public BitReader(NumberReader source) {
+        this(source, BitOrder.MsbFirst);
+    }
+
+    public BitOrder getBitOrder() {
+        return bitOrder;
+    }
+
+    /**
+     * Returns number of bits left from the last byte taken from the source (always less than 8).
+     */
+    public int bitsBuffered() {
+        return count;
+    }
+
+    public boolean readBit() throws IOException {
+        return readBits(1) != 0;
+    }
+
+    /**
+     * Reads unsigned field of n bits (0 to 64), 64-bit fields are returned as raw bits.
+     */
+    public long readBits(int n) throws IOException {
+        if (n < 0 || n > Long.SIZE)
+            throw new IllegalArgumentException(String.format("Bit count '%d' is out of range 0 to 64.", n));
+        if (n == 0) return 0;
+
+        // Accumulator holds up to 7 spare bits, so fields over 57 bits are read in two parts
+        if (n > 57) {
+            if (bitOrder == BitOrder.MsbFirst) {
+                long high = take(n - 32);
+                return (high << 32) | take(32);
+            }
+            long low = take(32);
+            return low | (take(n - 32) << 32);
+        }
+        return take(n);
+    }
+
+    /**
+     * Reads two's complement field of n bits (1 to 64) and extends its sign.
+     */
+    public long readSignedBits(int n) throws IOException {
+        if (n == 0)
+            throw new IllegalArgumentException("Signed field needs at least 1 bit.");
+        long value = readBits(n);
+        int shift = Long.SIZE - n;
+        return (value << shift) >> shift;
+    }
+
+    /**
+     * Drops bits left from the current byte, so the next read starts at byte boundary of the source.
+     * Returns number of dropped bits.
+     */
+    public int alignToByte() {
+        int dropped = count;
+        accumulator = 0;
+        count = 0;
+        return dropped;
+    }
+
+    private long take(int n) throws IOException {
+        if (bitOrder == BitOrder.MsbFirst) {
+            while (count < n) {
+                accumulator = (accumulator << 8) | (source.readByte() & 0xff);
+                count += 8;
+            }
+            count -= n;
+            return (accumulator >>> count) & (-1L >>> (Long.SIZE - n));
+        } else {
+            while (count < n) {
+                accumulator |= (long) (source.readByte() & 0xff) << count;
+                count += 8;
+            }
+            long value = accumulator & (-1L >>> (Long.SIZE - n));
+            accumulator >>>= n;
+            count -= n;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+
+/**
+ * Bit-level writer of fields of 1 to 64 bits on top of any {@link NumberWriter}.
+ * Bits are collected in 64-bit accumulator and written to the target as soon as whole bytes are complete.
+ * Last partial byte is padded with zero bits by {@link #alignToByte()} or {@link #flush()}.
+ */
+public final class BitWriter {
+
+    private final NumberWriter target;
+    private final BitOrder bitOrder;
+
+    /* Pending bits, MsbFirst keeps them in lowest count bits with the oldest one highest, LsbFirst with the oldest one lowest */
+    private long accumulator = 0;
+    private int count = 0;
+
+    public BitWriter(NumberWriter target, BitOrder bitOrder) {
+        this.target = target;
+        this.bitOrder = bitOrder;
+    }
+
+    public BitWriter(NumberWriter target) {
+        this(target, BitOrder.MsbFirst);
+    }
+
+    public BitOrder getBitOrder() {
+        return bitOrder;
+    }
+
+    /**
+     * Returns number of bits waiting for the current byte to complete (always less than 8).
+     */
+    public int bitsPending() {
+        return count;
+    }
+
+    public void writeBit(boolean bit) throws IOException {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes lowest n bits (0 to 64) of value, higher bits are ignored.
+     * Signed fields are written the same way as two's complement.
+     */
+    public void writeBits(long value, int n) throws IOException {
+        if (n < 0 || n > Long.SIZE)
+            throw new IllegalArgumentException(String.format("Bit count '%d' is out of range 0 to 64.", n));
+        if (n == 0) return;
+
+        // Accumulator holds up to 7 pending bits, so fields over 57 bits are written in two parts
+        if (n > 57) {
+            if (bitOrder == BitOrder.MsbFirst) {
+                put(value >>> 32, n - 32);
+                put(value, 32);
+            } else {
+                put(value, 32);
+                put(value >>> 32, n - 32);
+            }
+            return;
+        }
+        put(value, n);
+    }
+
+    /**
+     * Pads current byte with zero bits and writes it, returns number of padding bits.
+     */
+    public int alignToByte() throws IOException {
+        if (count == 0) return 0;
+        int padding = 8 - count;
+        if (bitOrder == BitOrder.MsbFirst) {
+            target.writeByte((int) (accumulator << padding));
+        } else {
+            target.writeByte((int) accumulator);
+        }
+        accumulator = 0;
+        count = 0;
+        return padding;
+    }
+
+    /**
+     * Aligns to byte boundary and flushes the target.
+     */
+    public void flush() throws IOException {
+        alignToByte();
+        target.flush();
+    }
+
+    private void put(long value, int n) throws IOException {
+        value &= -1L >>> (Long.SIZE - n);
+        if (bitOrder == BitOrder.MsbFirst) {
+            accumulator = (accumulator << n) | value;
+            count += n;
+            while (count >= 8) {
+                count -= 8;
+                target.writeByte((int) (accumulator >>> count));
+            }
+        } else {
+            accumulator |= value << count;
+            count += n;
+            while (count >= 8) {
+                target.writeByte((int) accumulator);
+                accumulator >>>= 8;
+                count -= 8;
+            }
+        }
+    }
+}
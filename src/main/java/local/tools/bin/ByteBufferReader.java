@@ -0,0 +1,317 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import local.tools.primitives.*;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Binary Reader over heap and direct {@link ByteBuffer} (Big Endian and Little Endian).
+ * Reads start at the buffer position and advance it; byte order of the buffer itself is ignored.
+ */
+public final class ByteBufferReader implements NumberReader {
+
+    /* End Of Line symbol */
+    private final static byte EOL = '\0';
+
+    private final ByteBuffer buffer;
+    private final EndianType endianType;
+    private final boolean bigEndian;
+
+    private ByteBufferReader swapped;
+
+    //<editor-fold defaultstate="collapsed" desc="Constructors">
+    public ByteBufferReader(ByteBuffer buffer, EndianType endianType) {
+        this.buffer = buffer;
+        this.endianType = endianType;
+        this.bigEndian = (endianType == EndianType.BigEndian);
+    }
+
+    public ByteBufferReader(ByteBuffer buffer) {
+        this(buffer, EndianType.LittleEndian);
+    }
+    //</editor-fold>
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public EndianType getEndianType() {
+        return endianType;
+    }
+
+    /**
+     * Returns reader of the same buffer in given byte order, both advance the buffer position.
+     */
+    @Override
+    public ByteBufferReader withEndianType(EndianType endianType) {
+        if (endianType == this.endianType) return this;
+        if (swapped == null) swapped = new ByteBufferReader(buffer, endianType);
+        return swapped;
+    }
+
+    public long getPosition() {
+        return buffer.position();
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    public long skip(long count) {
+        int n = (int) Math.min(Math.max(count, 0), buffer.remaining());
+        buffer.position(buffer.position() + n);
+        return n;
+    }
+
+    public void seek(long position) throws IOException {
+        if (position < 0 || position > buffer.limit())
+            throw new EOFException(String.format("Position %d is outside of buffer limit %d.", position, buffer.limit()));
+        buffer.position((int) position);
+    }
+
+    /* Advances position by count bytes and returns index of the first one. */
+    private int next(int count) throws EOFException {
+        int index = buffer.position();
+        if (buffer.limit() - index < count)
+            throw new EOFException(String.format("Requested %d bytes but only %d available.", count, buffer.limit() - index));
+        buffer.position(index + count);
+        return index;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Absolute Getters">
+    public byte getByte(int index) {
+        return buffer.get(index);
+    }
+
+    public short getShort(int index) {
+        return bigEndian ? (short) ByteViews.BUFFER_SHORT_BE.get(buffer, index) : (short) ByteViews.BUFFER_SHORT_LE.get(buffer, index);
+    }
+
+    public int getInt(int index) {
+        return bigEndian ? (int) ByteViews.BUFFER_INT_BE.get(buffer, index) : (int) ByteViews.BUFFER_INT_LE.get(buffer, index);
+    }
+
+    public long getLong(int index) {
+        return bigEndian ? (long) ByteViews.BUFFER_LONG_BE.get(buffer, index) : (long) ByteViews.BUFFER_LONG_LE.get(buffer, index);
+    }
+
+    public float getFloat(int index) {
+        return Float.intBitsToFloat(getInt(index));
+    }
+
+    public double getDouble(int index) {
+        return Double.longBitsToDouble(getLong(index));
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Bytes">
+    public int read() {
+        return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    public byte[] readBytes(int count) throws EOFException {
+        if (count < 0) throw new IllegalArgumentException(String.format("Count '%d' is negative.", count));
+        byte[] bytes = new byte[count];
+        buffer.get(next(count), bytes, 0, count);
+        return bytes;
+    }
+
+    @Override
+    public void readBytes(byte[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        buffer.get(next(len), dst, off, len);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Java Types">
+    public boolean readBoolean() throws IOException {
+        return (readByte() != 0);
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return getByte(next(Byte.BYTES));
+    }
+
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return getShort(next(Short.BYTES));
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return getInt(next(Integer.BYTES));
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return getLong(next(Long.BYTES));
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return getFloat(next(Float.BYTES));
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return getDouble(next(Double.BYTES));
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Universal Primitives">
+    @Override
+    public Int8 readInt8() throws IOException {
+        return Int8.valueOf(readByte());
+    }
+
+    @Override
+    public Int16 readInt16() throws IOException {
+        return Int16.valueOf(readShort());
+    }
+
+    @Override
+    public Int32 readInt32() throws IOException {
+        return new Int32(readInt());
+    }
+
+    @Override
+    public Int64 readInt64() throws IOException {
+        return new Int64(readLong());
+    }
+
+    @Override
+    public UInt8 readUInt8() throws IOException {
+        return UInt8.valueOf(readByte());
+    }
+
+    @Override
+    public UInt16 readUInt16() throws IOException {
+        return UInt16.valueOf(Short.toUnsignedInt(readShort()));
+    }
+
+    @Override
+    public UInt32 readUInt32() throws IOException {
+        return new UInt32(Integer.toUnsignedLong(readInt()));
+    }
+
+    @Override
+    public UInt64 readUInt64() throws IOException {
+        return new UInt64(readLong());
+    }
+
+    @Override
+    public Float32 readFloat32() throws IOException {
+        return new Float32(readFloat());
+    }
+
+    @Override
+    public Float64 readFloat64() throws IOException {
+        return new Float64(readDouble());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Bulk Arrays">
+    /* Advances position by count values of size bytes and returns view of them in configured byte order. */
+    private ByteBuffer view(int count, int size) throws EOFException {
+        int index = next(Math.multiplyExact(count, size));
+        return buffer.duplicate().position(index).order(endianType.getByteOrder());
+    }
+
+    @Override
+    public void readShorts(short[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        view(len, Short.BYTES).asShortBuffer().get(dst, off, len);
+    }
+
+    @Override
+    public void readInts(int[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        view(len, Integer.BYTES).asIntBuffer().get(dst, off, len);
+    }
+
+    @Override
+    public void readLongs(long[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        view(len, Long.BYTES).asLongBuffer().get(dst, off, len);
+    }
+
+    @Override
+    public void readFloats(float[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        view(len, Float.BYTES).asFloatBuffer().get(dst, off, len);
+    }
+
+    @Override
+    public void readDoubles(double[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        view(len, Double.BYTES).asDoubleBuffer().get(dst, off, len);
+    }
+
+    @Override
+    public void readUInt16s(int[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        int index = next(Math.multiplyExact(len, Short.BYTES));
+        for (int i = off, end = off + len; i < end; ++i, index += Short.BYTES) {
+            dst[i] = Short.toUnsignedInt(getShort(index));
+        }
+    }
+
+    @Override
+    public void readUInt32s(long[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        int index = next(Math.multiplyExact(len, Integer.BYTES));
+        for (int i = off, end = off + len; i < end; ++i, index += Integer.BYTES) {
+            dst[i] = Integer.toUnsignedLong(getInt(index));
+        }
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Strings">
+    public String readString() {
+        int start = buffer.position();
+        int end = start;
+        int limit = buffer.limit();
+        while (end < limit && buffer.get(end) != EOL) ++end;
+
+        byte[] data = new byte[end - start];
+        buffer.get(data);
+        if (buffer.hasRemaining()) buffer.get();
+        return new String(data);
+    }
+
+    public String readString(int length) throws EOFException {
+        return new String(readBytes(length));
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,305 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import local.tools.primitives.*;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * Binary Writer into heap and direct {@link ByteBuffer} (Big Endian and Little Endian).
+ * Writes start at the buffer position and advance it; byte order of the buffer itself is ignored.
+ */
+public final class ByteBufferWriter implements NumberWriter {
+
+    private final static byte EOL = '\0';
+
+    private final ByteBuffer buffer;
+    private final EndianType endianType;
+    private final boolean bigEndian;
+
+    private ByteBufferWriter swapped;
+
+    //<editor-fold defaultstate="collapsed" desc="Constructors">
+    public ByteBufferWriter(ByteBuffer buffer, EndianType endianType) {
+        this.buffer = buffer;
+        this.endianType = endianType;
+        this.bigEndian = (endianType == EndianType.BigEndian);
+    }
+
+    public ByteBufferWriter(ByteBuffer buffer) {
+        this(buffer, EndianType.LittleEndian);
+    }
+    //</editor-fold>
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public EndianType getEndianType() {
+        return endianType;
+    }
+
+    /**
+     * Returns writer of the same buffer in given byte order, both advance the buffer position.
+     */
+    @Override
+    public ByteBufferWriter withEndianType(EndianType endianType) {
+        if (endianType == this.endianType) return this;
+        if (swapped == null) swapped = new ByteBufferWriter(buffer, endianType);
+        return swapped;
+    }
+
+    public long getPosition() {
+        return buffer.position();
+    }
+
+    public int remaining() {
+        return buffer.remaining();
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /* Advances position by count bytes and returns index of the first one. */
+    private int next(int count) {
+        int index = buffer.position();
+        if (buffer.limit() - index < count) throw new BufferOverflowException();
+        buffer.position(index + count);
+        return index;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Absolute Setters">
+    public void putByte(int index, byte value) {
+        buffer.put(index, value);
+    }
+
+    public void putShort(int index, short value) {
+        if (bigEndian) ByteViews.BUFFER_SHORT_BE.set(buffer, index, value);
+        else ByteViews.BUFFER_SHORT_LE.set(buffer, index, value);
+    }
+
+    public void putInt(int index, int value) {
+        if (bigEndian) ByteViews.BUFFER_INT_BE.set(buffer, index, value);
+        else ByteViews.BUFFER_INT_LE.set(buffer, index, value);
+    }
+
+    public void putLong(int index, long value) {
+        if (bigEndian) ByteViews.BUFFER_LONG_BE.set(buffer, index, value);
+        else ByteViews.BUFFER_LONG_LE.set(buffer, index, value);
+    }
+
+    public void putFloat(int index, float value) {
+        putInt(index, Float.floatToRawIntBits(value));
+    }
+
+    public void putDouble(int index, double value) {
+        putLong(index, Double.doubleToRawLongBits(value));
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Bytes">
+    public void write(byte[] data) {
+        buffer.put(data);
+    }
+
+    public void write(byte[] data, int offset, int length) {
+        buffer.put(data, offset, length);
+    }
+
+    @Override
+    public void writeBytes(byte[] src, int off, int len) {
+        write(src, off, len);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Java Types">
+    public void writeBoolean(boolean b) {
+        writeByte(b ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) {
+        putByte(next(Byte.BYTES), (byte) v);
+    }
+
+    public void writeChar(char v) {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeShort(int v) {
+        putShort(next(Short.BYTES), (short) v);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        putInt(next(Integer.BYTES), v);
+    }
+
+    @Override
+    public void writeLong(long v) {
+        putLong(next(Long.BYTES), v);
+    }
+
+    @Override
+    public void writeFloat(float v) {
+        putFloat(next(Float.BYTES), v);
+    }
+
+    @Override
+    public void writeDouble(double v) {
+        putDouble(next(Double.BYTES), v);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Universal Primitives">
+    @Override
+    public void writeInt8(Int8 v) {
+        writeByte(v.intValue());
+    }
+
+    @Override
+    public void writeInt16(Int16 v) {
+        writeShort(v.intValue());
+    }
+
+    @Override
+    public void writeInt32(Int32 v) {
+        writeInt(v.intValue());
+    }
+
+    @Override
+    public void writeInt64(Int64 v) {
+        writeLong(v.longValue());
+    }
+
+    @Override
+    public void writeUInt8(UInt8 v) {
+        writeByte(v.intValue());
+    }
+
+    @Override
+    public void writeUInt16(UInt16 v) {
+        writeShort(v.intValue());
+    }
+
+    @Override
+    public void writeUInt32(UInt32 v) {
+        writeInt(v.intValue());
+    }
+
+    @Override
+    public void writeUInt64(UInt64 v) {
+        writeLong(v.longValue());
+    }
+
+    @Override
+    public void writeFloat32(Float32 v) {
+        writeFloat(v.floatValue());
+    }
+
+    @Override
+    public void writeFloat64(Float64 v) {
+        writeDouble(v.doubleValue());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Bulk Arrays">
+    /* Advances position by count values of size bytes and returns view of them in configured byte order. */
+    private ByteBuffer view(int count, int size) {
+        int index = next(Math.multiplyExact(count, size));
+        return buffer.duplicate().position(index).order(endianType.getByteOrder());
+    }
+
+    @Override
+    public void writeShorts(short[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        view(len, Short.BYTES).asShortBuffer().put(src, off, len);
+    }
+
+    @Override
+    public void writeChars(char[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        view(len, Character.BYTES).asCharBuffer().put(src, off, len);
+    }
+
+    @Override
+    public void writeInts(int[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        view(len, Integer.BYTES).asIntBuffer().put(src, off, len);
+    }
+
+    @Override
+    public void writeLongs(long[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        view(len, Long.BYTES).asLongBuffer().put(src, off, len);
+    }
+
+    @Override
+    public void writeFloats(float[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        view(len, Float.BYTES).asFloatBuffer().put(src, off, len);
+    }
+
+    @Override
+    public void writeDoubles(double[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        view(len, Double.BYTES).asDoubleBuffer().put(src, off, len);
+    }
+
+    @Override
+    public void writeUInt16s(int[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        int index = next(Math.multiplyExact(len, Short.BYTES));
+        for (int i = off, end = off + len; i < end; ++i, index += Short.BYTES) {
+            putShort(index, (short) src[i]);
+        }
+    }
+
+    @Override
+    public void writeUInt32s(long[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        int index = next(Math.multiplyExact(len, Integer.BYTES));
+        for (int i = off, end = off + len; i < end; ++i, index += Integer.BYTES) {
+            putInt(index, (int) src[i]);
+        }
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Strings">
+    public void writeBytes(String str) {
+        buffer.put(str.getBytes());
+        buffer.put(EOL);
+    }
+
+    public void writeChars(char[] chars) {
+        writeChars(chars, 0, chars.length);
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,140 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * In-place byte order conversion of 16, 32 and 64 bits values in byte arrays and byte buffers.
+ * Bytes are processed a 64 bits word at a time, swapping all lanes of the word with a few shifts and masks.
+ */
+public final class ByteSwap {
+
+    private final static long BYTE_MASK = 0x00FF00FF00FF00FFL;
+
+    private ByteSwap() {
+    }
+
+    /**
+     * Converts count values of given size in bytes (2, 4 or 8) between endian types, does nothing if they match.
+     */
+    public static void convert(byte[] data, int offset, int count, int size, EndianType from, EndianType to) {
+        if (from == to) return;
+        switch (size) {
+            case Short.BYTES:
+                swapShorts(data, offset, count);
+                break;
+            case Integer.BYTES:
+                swapInts(data, offset, count);
+                break;
+            case Long.BYTES:
+                swapLongs(data, offset, count);
+                break;
+            default:
+                throw new IllegalArgumentException(String.format("Value size '%d' is not 2, 4 or 8 bytes.", size));
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Byte Arrays">
+    public static void swapShorts(byte[] data, int offset, int count) {
+        int end = offset + checkRange(offset, count, Short.BYTES, data.length);
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            ByteViews.LONG_LE.set(data, i, swapShortLanes((long) ByteViews.LONG_LE.get(data, i)));
+        }
+        for (; i < end; i += Short.BYTES) {
+            ByteViews.SHORT_LE.set(data, i, Short.reverseBytes((short) ByteViews.SHORT_LE.get(data, i)));
+        }
+    }
+
+    public static void swapInts(byte[] data, int offset, int count) {
+        int end = offset + checkRange(offset, count, Integer.BYTES, data.length);
+        int i = offset;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            ByteViews.LONG_LE.set(data, i, swapIntLanes((long) ByteViews.LONG_LE.get(data, i)));
+        }
+        for (; i < end; i += Integer.BYTES) {
+            ByteViews.INT_LE.set(data, i, Integer.reverseBytes((int) ByteViews.INT_LE.get(data, i)));
+        }
+    }
+
+    public static void swapLongs(byte[] data, int offset, int count) {
+        int end = offset + checkRange(offset, count, Long.BYTES, data.length);
+        for (int i = offset; i < end; i += Long.BYTES) {
+            ByteViews.LONG_LE.set(data, i, Long.reverseBytes((long) ByteViews.LONG_LE.get(data, i)));
+        }
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Byte Buffers">
+    public static void swapShorts(ByteBuffer buffer, int index, int count) {
+        int end = index + checkRange(index, count, Short.BYTES, buffer.limit());
+        int i = index;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            ByteViews.BUFFER_LONG_LE.set(buffer, i, swapShortLanes((long) ByteViews.BUFFER_LONG_LE.get(buffer, i)));
+        }
+        for (; i < end; i += Short.BYTES) {
+            ByteViews.BUFFER_SHORT_LE.set(buffer, i, Short.reverseBytes((short) ByteViews.BUFFER_SHORT_LE.get(buffer, i)));
+        }
+    }
+
+    public static void swapInts(ByteBuffer buffer, int index, int count) {
+        int end = index + checkRange(index, count, Integer.BYTES, buffer.limit());
+        int i = index;
+        for (; i <= end - Long.BYTES; i += Long.BYTES) {
+            ByteViews.BUFFER_LONG_LE.set(buffer, i, swapIntLanes((long) ByteViews.BUFFER_LONG_LE.get(buffer, i)));
+        }
+        for (; i < end; i += Integer.BYTES) {
+            ByteViews.BUFFER_INT_LE.set(buffer, i, Integer.reverseBytes((int) ByteViews.BUFFER_INT_LE.get(buffer, i)));
+        }
+    }
+
+    public static void swapLongs(ByteBuffer buffer, int index, int count) {
+        int end = index + checkRange(index, count, Long.BYTES, buffer.limit());
+        for (int i = index; i < end; i += Long.BYTES) {
+            ByteViews.BUFFER_LONG_LE.set(buffer, i, Long.reverseBytes((long) ByteViews.BUFFER_LONG_LE.get(buffer, i)));
+        }
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Word Lanes">
+    /* Reverses bytes of each of four 16 bits lanes */
+    private static long swapShortLanes(long word) {
+        return ((word >>> 8) & BYTE_MASK) | ((word & BYTE_MASK) << 8);
+    }
+
+    /* Reverses bytes of each of two 32 bits lanes */
+    private static long swapIntLanes(long word) {
+        return Long.rotateLeft(Long.reverseBytes(word), 32);
+    }
+    //</editor-fold>
+
+    /* Returns length in bytes of count values of given size, checking it fits in [offset, length). */
+    private static int checkRange(int offset, int count, int size, int length) {
+        int bytes = Math.multiplyExact(count, size);
+        Objects.checkFromIndexSize(offset, bytes, length);
+        return bytes;
+    }
+}
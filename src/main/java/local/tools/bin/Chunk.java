@@ -0,0 +1,98 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+/**
+ * Byte range of a file scanned by {@link ChunkScanner}, mapped with overlap so records starting in it can be read to their end.
+ * Reader offsets are relative to the chunk start; records starting before {@link #limit()} belong to this chunk.
+ */
+public final class Chunk {
+
+    private final int index;
+    private final long start;
+    private final long end;
+    private final int previousByte;
+    private final OffHeapReader reader;
+
+    Chunk(int index, long start, long end, int previousByte, OffHeapReader reader) {
+        this.index = index;
+        this.start = start;
+        this.end = end;
+        this.previousByte = previousByte;
+        this.reader = reader;
+    }
+
+    public int index() {
+        return index;
+    }
+
+    /**
+     * Returns file offset of the chunk start, which is reader offset 0.
+     */
+    public long start() {
+        return start;
+    }
+
+    /**
+     * Returns file offset of the chunk end (exclusive), records starting at or after it belong to the next chunk.
+     */
+    public long end() {
+        return end;
+    }
+
+    public long limit() {
+        return end - start;
+    }
+
+    /**
+     * Returns unsigned byte preceding the chunk start in the file, or -1 for the first chunk.
+     * Lets resync tell whether the chunk starts right after the end of a record.
+     */
+    public int previousByte() {
+        return previousByte;
+    }
+
+    public OffHeapReader reader() {
+        return reader;
+    }
+
+    /**
+     * Returns true if reader is positioned before the chunk end, so the next record belongs to this chunk.
+     */
+    public boolean hasRemaining() {
+        return reader.getPosition() < limit();
+    }
+
+    /**
+     * Returns file offset of the reader position.
+     */
+    public long filePosition() {
+        return start + reader.getPosition();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Chunk[%d, %d..%d]", index, start, end);
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+
+/**
+ * Moves chunk reader from the chunk start to the first record boundary in it, called for every chunk before decoding.
+ * Leaving reader at or after {@link Chunk#limit()} means no record starts in the chunk.
+ */
+@FunctionalInterface
+public interface ChunkResync {
+
+    public void resync(Chunk chunk) throws IOException;
+
+    /**
+     * Returns resync of fixed-size records following header of given size.
+     */
+    public static ChunkResync fixedSize(long headerSize, int recordSize) {
+        return chunk -> {
+            long relative = Math.max(chunk.start() - headerSize, 0);
+            long boundary = headerSize + (relative + recordSize - 1) / recordSize * recordSize;
+            chunk.reader().seek(Math.min(boundary - chunk.start(), chunk.reader().size()));
+        };
+    }
+
+    /**
+     * Returns resync of records terminated by given delimiter byte (e.g. line feed), records start after it.
+     */
+    public static ChunkResync delimited(byte delimiter) {
+        return chunk -> {
+            if (chunk.index() == 0 || chunk.previousByte() == (delimiter & 0xff)) return;
+            OffHeapReader reader = chunk.reader();
+            long position = 0;
+            long size = reader.size();
+            while (position < size && reader.getByte(position) != delimiter) ++position;
+            reader.seek(Math.min(position + 1, size));
+        };
+    }
+}
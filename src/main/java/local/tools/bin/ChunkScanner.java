@@ -0,0 +1,154 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Parallel scanner of a file split into chunks of fixed size.
+ * Each chunk is mapped separately with overlap bytes past its end, resynced to its first record boundary,
+ * decoded into partial result on {@link ForkJoinPool} and released. Partial results are merged in file order.
+ * Released chunks are unmapped by the garbage collector.
+ * Overlap must be at least the largest record size, so the last record of a chunk can be read to its end.
+ */
+public final class ChunkScanner {
+
+    public final static long DEFAULT_CHUNK_SIZE = 64L << 20;
+    public final static long DEFAULT_OVERLAP = 64L << 10;
+
+    private final Path file;
+    private final EndianType endianType;
+    private final long chunkSize;
+    private final long overlap;
+    private final ChunkResync resync;
+
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    public ChunkScanner(Path file, EndianType endianType, long chunkSize, long overlap, ChunkResync resync) {
+        if (chunkSize <= 0)
+            throw new IllegalArgumentException(String.format("Chunk size '%d' must be positive.", chunkSize));
+        if (overlap < 0)
+            throw new IllegalArgumentException(String.format("Overlap '%d' is negative.", overlap));
+        this.file = file;
+        this.endianType = endianType;
+        this.chunkSize = chunkSize;
+        this.overlap = overlap;
+        this.resync = resync;
+    }
+
+    public ChunkScanner(Path file, EndianType endianType, ChunkResync resync) {
+        this(file, endianType, DEFAULT_CHUNK_SIZE, DEFAULT_OVERLAP, resync);
+    }
+
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Decodes all chunks in parallel and merges their results with combiner, returns identity for empty file.
+     */
+    public <R> R scan(ChunkDecoder<R> decoder, BinaryOperator<R> combiner, R identity) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) return identity;
+            long count = (size + chunkSize - 1) / chunkSize;
+            if (count > Integer.MAX_VALUE)
+                throw new IllegalArgumentException(String.format("File of %d bytes has too many chunks of %d bytes.", size, chunkSize));
+
+            return pool.invoke(new ScanTask<>(channel, size, decoder, combiner, 0, (int) count));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Chunk open(FileChannel channel, long size, int index) throws IOException {
+        long start = index * chunkSize;
+        long end = Math.min(start + chunkSize, size);
+        long mapped = Math.min(end + overlap, size) - start;
+
+        int previousByte = -1;
+        if (start > 0) {
+            ByteBuffer lead = ByteBuffer.allocate(1);
+            if (channel.read(lead, start - 1) == 1) previousByte = lead.get(0) & 0xff;
+        }
+        OffHeapMemory memory = OffHeapMemory.map(channel, FileChannel.MapMode.READ_ONLY, start, mapped);
+        return new Chunk(index, start, end, previousByte, new OffHeapReader(memory, endianType));
+    }
+
+    /* Splits chunk range [low, high) in halves down to single chunks */
+    private final class ScanTask<R> extends RecursiveTask<R> {
+
+        private final FileChannel channel;
+        private final long size;
+        private final ChunkDecoder<R> decoder;
+        private final BinaryOperator<R> combiner;
+        private final int low;
+        private final int high;
+
+        ScanTask(FileChannel channel, long size, ChunkDecoder<R> decoder, BinaryOperator<R> combiner, int low, int high) {
+            this.channel = channel;
+            this.size = size;
+            this.decoder = decoder;
+            this.combiner = combiner;
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected R compute() {
+            if (high - low == 1) return decode(low);
+
+            int mid = (low + high) >>> 1;
+            ScanTask<R> left = new ScanTask<>(channel, size, decoder, combiner, low, mid);
+            left.fork();
+            R right = new ScanTask<>(channel, size, decoder, combiner, mid, high).compute();
+            return combiner.apply(left.join(), right);
+        }
+
+        private R decode(int index) {
+            Chunk chunk = null;
+            try {
+                chunk = open(channel, size, index);
+                if (resync != null) resync.resync(chunk);
+                return decoder.decode(chunk);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                if (chunk != null) chunk.reader().getMemory().close();
+            }
+        }
+    }
+}
@@ -23,7 +23,19 @@
  */
 package local.tools.bin;
 
+import java.nio.ByteOrder;
+
 public enum EndianType {
-    LittleEndian,
-    BigEndian
+    LittleEndian(ByteOrder.LITTLE_ENDIAN),
+    BigEndian(ByteOrder.BIG_ENDIAN);
+
+    private final ByteOrder byteOrder;
+
+    EndianType(ByteOrder byteOrder) {
+        this.byteOrder = byteOrder;
+    }
+
+    public ByteOrder getByteOrder() {
+        return byteOrder;
+    }
 }
@@ -0,0 +1,439 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Read-ahead buffer over an Input Source shared by {@link BinaryReader} and number readers.
+ * Bytes are pulled from the source in blocks and decoded straight out of {@link #data}.
+ * <p>
+ * Up to {@link #getWindowSize()} consumed bytes and bytes since {@link #mark(int)} are kept on refill,
+ * so seeks back within them need no source access. File and channel sources seek anywhere by channel position.
+ */
+final class InputBuffer extends InputStream {
+
+    private final InputStream source;
+
+    /* Buffered bytes, valid in range [offset, limit) */
+    byte[] data;
+    int offset = 0;
+    int limit = 0;
+
+    /* Source position of data[0] */
+    private long base = 0;
+
+    /* Channel of seekable sources and its position at buffer position 0, null for plain streams */
+    private final SeekableByteChannel channel;
+    private final long origin;
+
+    private int windowSize = 0;
+    private long markPosition = -1;
+    private int markLimit = 0;
+
+    /* Reads no more bytes from the source than requested, so the source can be shared */
+    private final boolean exact;
+
+    InputBuffer(InputStream source, int capacity) {
+        this(source, channelOf(source), capacity, false);
+    }
+
+    InputBuffer(InputStream source, int capacity, boolean exact) {
+        this(source, channelOf(source), capacity, exact);
+    }
+
+    InputBuffer(SeekableByteChannel channel, int capacity) {
+        this(Channels.newInputStream(channel), channel, capacity, false);
+    }
+
+    private InputBuffer(InputStream source, SeekableByteChannel channel, int capacity, boolean exact) {
+        if (capacity < Long.BYTES)
+            throw new IllegalArgumentException(String.format("Buffer size '%d' is less than %d bytes.", capacity, Long.BYTES));
+        this.source = source;
+        this.data = new byte[capacity];
+        this.exact = exact;
+
+        long origin = -1;
+        if (channel != null) {
+            try {
+                origin = channel.position();
+            } catch (IOException e) {
+                // Source is read as a plain stream
+            }
+        }
+        this.channel = origin < 0 ? null : channel;
+        this.origin = origin;
+    }
+
+    private static SeekableByteChannel channelOf(InputStream source) {
+        return source instanceof FileInputStream ? ((FileInputStream) source).getChannel() : null;
+    }
+
+    long getPosition() {
+        return base + offset;
+    }
+
+    int buffered() {
+        return limit - offset;
+    }
+
+    boolean isSeekable() {
+        return channel != null;
+    }
+
+    int getWindowSize() {
+        return windowSize;
+    }
+
+    void setWindowSize(int windowSize) {
+        if (windowSize < 0)
+            throw new IllegalArgumentException(String.format("Window size '%d' is negative.", windowSize));
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Moves to absolute position: within buffered bytes, by channel position of seekable sources
+     * or by skipping forward. Plain streams fail on positions before the retained bytes.
+     */
+    void seek(long position) throws IOException {
+        if (position < 0) throw new IOException(String.format("Position %d is negative.", position));
+
+        if (position >= base && position <= base + limit) {
+            offset = (int) (position - base);
+        } else if (channel != null) {
+            channel.position(origin + position);
+            base = position;
+            offset = limit = 0;
+        } else if (position > base + limit) {
+            long count = position - getPosition();
+            if (skip(count) < count)
+                throw new EOFException(String.format("Position %d is beyond end of source at %d.", position, getPosition()));
+        } else {
+            throw new IOException(String.format("Position %d is before retained bytes starting at %d.", position, base));
+        }
+    }
+
+    /* Returns false at end of source, buffering next block if needed. */
+    boolean hasRemaining() throws IOException {
+        return offset < limit || refill();
+    }
+
+    /**
+     * Consumes count bytes and returns index of the first one in {@link #data}.
+     * Note: {@link #data} may be reallocated, so it must be fetched after this call.
+     */
+    int take(int count) throws IOException {
+        int index = offset;
+        if (limit - index < count) {
+            index = fill(count);
+        }
+        offset = index + count;
+        return index;
+    }
+
+    /**
+     * Buffers at least one value of size bytes and returns number of whole values buffered, up to count.
+     * Values start at {@link #offset}, which the caller advances after decoding them.
+     */
+    int require(int count, int size) throws IOException {
+        if (limit - offset < size) {
+            // Exact buffer reads whole request at once, up to the buffer capacity
+            fill(exact ? (int) Math.min((long) count * size, Math.max(data.length / size, 1) * size) : size);
+        }
+        return Math.min(count, (limit - offset) / size);
+    }
+
+    /**
+     * Decodes varint of at most 5 bytes straight from the buffer, 1 and 2 byte values take the shortest path.
+     */
+    int readVarInt() throws IOException {
+        int i = offset;
+        if (limit - i < 5) return (int) readVarSlow(5);
+
+        byte[] data = this.data;
+        int b = data[i++];
+        if (b >= 0) {
+            offset = i;
+            return b;
+        }
+        int value = b & 0x7f;
+        b = data[i++];
+        if (b >= 0) {
+            offset = i;
+            return value | (b << 7);
+        }
+        value |= (b & 0x7f) << 7;
+        for (int shift = 14; shift < 35; shift += 7) {
+            b = data[i++];
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) {
+                offset = i;
+                return value;
+            }
+        }
+        throw new IOException("Varint is longer than 5 bytes.");
+    }
+
+    /**
+     * Decodes varint of at most 10 bytes straight from the buffer, 1 and 2 byte values take the shortest path.
+     */
+    long readVarLong() throws IOException {
+        int i = offset;
+        if (limit - i < 10) return readVarSlow(10);
+
+        byte[] data = this.data;
+        int b = data[i++];
+        if (b >= 0) {
+            offset = i;
+            return b;
+        }
+        long value = b & 0x7f;
+        b = data[i++];
+        if (b >= 0) {
+            offset = i;
+            return value | (b << 7);
+        }
+        value |= (b & 0x7f) << 7;
+        for (int shift = 14; shift < 70; shift += 7) {
+            b = data[i++];
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                offset = i;
+                return value;
+            }
+        }
+        throw new IOException("Varint is longer than 10 bytes.");
+    }
+
+    /* Decodes varint byte by byte near the end of buffered data. */
+    private long readVarSlow(int maxBytes) throws IOException {
+        long value = 0;
+        for (int shift = 0, end = maxBytes * 7; shift < end; shift += 7) {
+            int i = take(1);
+            byte b = data[i];
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException(String.format("Varint is longer than %d bytes.", maxBytes));
+    }
+
+    /**
+     * Buffers bytes up to the first zero byte, end of source or max + 1 bytes, whichever comes first,
+     * and returns number of bytes before the zero byte (at most max). Nothing is consumed.
+     */
+    int scan(int max) throws IOException {
+        long window = max + 1L;
+        int from = offset;
+        while (true) {
+            int end = (int) Math.min(limit, offset + window);
+            int i = indexOfZero(data, from, end);
+            if (i >= 0) return Math.min(i - offset, max);
+            if (end - offset >= window) return max;
+            int scanned = end - offset;
+            if (!extend()) return scanned;
+            from = offset + scanned;
+        }
+    }
+
+    /* Reads more bytes from the source keeping the buffered ones, grows the buffer when it is full. */
+    private boolean extend() throws IOException {
+        compact();
+        if (limit == data.length) {
+            data = Arrays.copyOf(data, data.length << 1);
+        }
+        int r = readSource(1);
+        if (r <= 0) return false;
+        limit += r;
+        return true;
+    }
+
+    /*
+     * Word-at-a-time search: (w - 0x01..01) & ~w & 0x80..80 is nonzero iff w has a zero byte,
+     * and its lowest set bit marks the first one (borrows only propagate to higher bytes).
+     */
+    private static int indexOfZero(byte[] data, int from, int to) {
+        int i = from;
+        for (int end = to - Long.BYTES; i <= end; i += Long.BYTES) {
+            long w = (long) ByteViews.LONG_LE.get(data, i);
+            long mask = (w - 0x0101010101010101L) & ~w & 0x8080808080808080L;
+            if (mask != 0) return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+        }
+        for (; i < to; ++i) {
+            if (data[i] == 0) return i;
+        }
+        return -1;
+    }
+
+    /* Ensures at least count bytes are buffered, throws EOFException otherwise. */
+    private int fill(int count) throws IOException {
+        if (count > data.length) {
+            data = Arrays.copyOf(data, Math.max(count, data.length << 1));
+        }
+        compact();
+        if (offset + count > data.length) {
+            data = Arrays.copyOf(data, Math.max(offset + count, data.length << 1));
+        }
+        while (limit - offset < count) {
+            int r = readSource(count - (limit - offset));
+            if (r < 0) throw new EOFException(String.format("Requested %d bytes but only %d available.", count, limit - offset));
+            limit += r;
+        }
+        return offset;
+    }
+
+    /* Reads next block from the source, returns false if source is exhausted. */
+    private boolean refill() throws IOException {
+        compact();
+        if (limit == data.length) {
+            data = Arrays.copyOf(data, data.length << 1);
+        }
+        int r = readSource(1);
+        if (r > 0) limit += r;
+        return limit > offset;
+    }
+
+    /* Reads into free space after limit, exact buffer reads at most wanted bytes. */
+    private int readSource(int wanted) throws IOException {
+        int free = data.length - limit;
+        return source.read(data, limit, exact ? Math.min(wanted, free) : free);
+    }
+
+    /* Drops consumed bytes except the retained window and marked ones. */
+    private void compact() {
+        int from = Math.max(offset - windowSize, 0);
+        if (markPosition >= 0) {
+            long marked = markPosition - base;
+            if (marked >= 0 && offset - marked <= markLimit) {
+                from = Math.min(from, (int) marked);
+            } else if (channel == null) {
+                markPosition = -1;
+            }
+        }
+        if (from == 0) return;
+        int count = limit - from;
+        System.arraycopy(data, from, data, 0, count);
+        base += from;
+        offset -= from;
+        limit = count;
+    }
+
+    /* Drops all buffered bytes after count bytes were consumed from the source directly. */
+    private void discard(long count) {
+        base += limit + count;
+        offset = limit = 0;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="InputStream Methods">
+    @Override
+    public int read() throws IOException {
+        if (offset == limit && !refill()) return -1;
+        return data[offset++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] buffer, int index, int count) throws IOException {
+        Objects.checkFromIndexSize(index, count, buffer.length);
+        if (count == 0) return 0;
+
+        int n = limit - offset;
+        if (n == 0) {
+            // Large requests and all requests of exact buffer bypass it unless read bytes must be retained
+            if ((count >= data.length || exact) && windowSize == 0 && markPosition < 0) {
+                int r = source.read(buffer, index, count);
+                if (r > 0) discard(r);
+                return r;
+            }
+            if (!refill()) return -1;
+            n = limit - offset;
+        }
+        n = Math.min(n, count);
+        System.arraycopy(data, offset, buffer, index, n);
+        offset += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long count) throws IOException {
+        if (count <= 0) return 0;
+
+        int n = limit - offset;
+        if (count <= n) {
+            offset += (int) count;
+            return count;
+        }
+        if (channel == null && (windowSize > 0 || markPosition >= 0)) {
+            // Skipped bytes pass through the buffer to stay retained
+            long skipped = 0;
+            while (skipped < count && (offset < limit || refill())) {
+                int k = (int) Math.min(limit - offset, count - skipped);
+                offset += k;
+                skipped += k;
+            }
+            return skipped;
+        }
+        long skipped = source.skip(count - n);
+        discard(skipped);
+        return n + skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return true;
+    }
+
+    /**
+     * Retains bytes from the current position until readLimit more bytes are read,
+     * seekable sources can be reset to the mark at any time.
+     */
+    @Override
+    public void mark(int readLimit) {
+        markPosition = getPosition();
+        markLimit = Math.max(readLimit, 0);
+    }
+
+    @Override
+    public void reset() throws IOException {
+        if (markPosition < 0) throw new IOException("Mark is not set or has been invalidated.");
+        seek(markPosition);
+    }
+
+    @Override
+    public int available() throws IOException {
+        long n = (long) (limit - offset) + source.available();
+        return (int) Math.min(n, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+    //</editor-fold>
+}
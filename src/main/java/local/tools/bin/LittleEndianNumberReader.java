@@ -27,165 +27,230 @@ import local.tools.primitives.*;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Objects;
 
 public class LittleEndianNumberReader implements NumberReader {
 
-    private final InputStream source;
+    private final InputBuffer source;
+    private NumberReader swapped;
 
+    /**
+     * Reads from the source only bytes of decoded values, use {@link BinaryReader} for buffered reading.
+     */
     public LittleEndianNumberReader(InputStream source) {
+        this(new InputBuffer(source, BinaryReader.DEFAULT_BUFFER_SIZE, true));
+    }
+
+    LittleEndianNumberReader(InputBuffer source) {
         this.source = source;
     }
 
+    @Override
+    public NumberReader withEndianType(EndianType endianType) {
+        if (endianType == EndianType.LittleEndian) return this;
+        if (swapped == null) swapped = new BigEndianNumberReader(source);
+        return swapped;
+    }
+
     //<editor-fold defaultstate="collapsed" desc="Basic Java Types">
     @Override
     public byte readByte() throws IOException {
-        return (byte) source.read();
+        int i = source.take(Byte.BYTES);
+        return source.data[i];
     }
 
     @Override
     public short readShort() throws IOException {
-        int b = source.read();
-        int a = source.read();
-        return Int16.packBytes(a, b);
+        int i = source.take(Short.BYTES);
+        return (short) ByteViews.SHORT_LE.get(source.data, i);
     }
 
     @Override
     public int readInt() throws IOException {
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return Int32.packBytes(a, b, c, d);
+        int i = source.take(Integer.BYTES);
+        return (int) ByteViews.INT_LE.get(source.data, i);
     }
 
     @Override
     public long readLong() throws IOException {
-        int h = source.read();
-        int g = source.read();
-        int f = source.read();
-        int e = source.read();
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return Int64.packBytes(a, b, c, d, e, f, g, h);
+        int i = source.take(Long.BYTES);
+        return (long) ByteViews.LONG_LE.get(source.data, i);
     }
 
     @Override
     public float readFloat() throws IOException {
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return Float32.packBytes(a, b, c, d);
+        return Float.intBitsToFloat(readInt());
     }
 
     @Override
     public double readDouble() throws IOException {
-        int h = source.read();
-        int g = source.read();
-        int f = source.read();
-        int e = source.read();
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return Float64.packBytes(a, b, c, d, e, f, g, h);
+        return Double.longBitsToDouble(readLong());
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Universal Primitives">
     @Override
     public Int8 readInt8() throws IOException {
-        int a = source.read();
-        return new Int8(a);
+        return Int8.valueOf(readByte());
     }
 
     @Override
     public Int16 readInt16() throws IOException {
-        int b = source.read();
-        int a = source.read();
-        return new Int16(a, b);
+        return Int16.valueOf(readShort());
     }
 
     @Override
     public Int32 readInt32() throws IOException {
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return new Int32(a, b, c, d);
+        return new Int32(readInt());
     }
 
     @Override
     public Int64 readInt64() throws IOException {
-        int h = source.read();
-        int g = source.read();
-        int f = source.read();
-        int e = source.read();
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return new Int64(a, b, c, d, e, f, g, h);
+        return new Int64(readLong());
     }
 
     @Override
     public Float32 readFloat32() throws IOException {
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return new Float32(a, b, c, d);
+        return new Float32(readFloat());
     }
 
     @Override
     public Float64 readFloat64() throws IOException {
-        int h = source.read();
-        int g = source.read();
-        int f = source.read();
-        int e = source.read();
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return new Float64(a, b, c, d, e, f, g, h);
+        return new Float64(readDouble());
     }
     //</editor-fold>
 
     //<editor-fold defaultstate="collapsed" desc="Unsigned Universal Primitives">
     @Override
     public UInt8 readUInt8() throws IOException {
-        return new UInt8((byte) source.read());
+        return UInt8.valueOf(readByte());
     }
 
     @Override
     public UInt16 readUInt16() throws IOException {
-        int b = source.read();
-        int a = source.read();
-        return new UInt16(a, b);
+        return UInt16.valueOf(Short.toUnsignedInt(readShort()));
     }
 
     @Override
     public UInt32 readUInt32() throws IOException {
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return new UInt32(a, b, c, d);
+        return new UInt32(Integer.toUnsignedLong(readInt()));
     }
 
     @Override
     public UInt64 readUInt64() throws IOException {
-        int h = source.read();
-        int g = source.read();
-        int f = source.read();
-        int e = source.read();
-        int d = source.read();
-        int c = source.read();
-        int b = source.read();
-        int a = source.read();
-        return new UInt64(a, b, c, d, e, f, g, h);
+        return new UInt64(readLong());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Variable Length Integers">
+    @Override
+    public int readVarInt() throws IOException {
+        return source.readVarInt();
+    }
+
+    @Override
+    public long readVarLong() throws IOException {
+        return source.readVarLong();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Bulk Arrays">
+    @Override
+    public void readShorts(short[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Short.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Short.BYTES) {
+                dst[off] = (short) ByteViews.SHORT_LE.get(data, i);
+            }
+            source.offset += n * Short.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void readInts(int[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Integer.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Integer.BYTES) {
+                dst[off] = (int) ByteViews.INT_LE.get(data, i);
+            }
+            source.offset += n * Integer.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void readLongs(long[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Long.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Long.BYTES) {
+                dst[off] = (long) ByteViews.LONG_LE.get(data, i);
+            }
+            source.offset += n * Long.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void readFloats(float[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Float.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Float.BYTES) {
+                dst[off] = Float.intBitsToFloat((int) ByteViews.INT_LE.get(data, i));
+            }
+            source.offset += n * Float.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void readDoubles(double[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Double.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Double.BYTES) {
+                dst[off] = Double.longBitsToDouble((long) ByteViews.LONG_LE.get(data, i));
+            }
+            source.offset += n * Double.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void readUInt16s(int[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Short.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Short.BYTES) {
+                dst[off] = Short.toUnsignedInt((short) ByteViews.SHORT_LE.get(data, i));
+            }
+            source.offset += n * Short.BYTES;
+            len -= n;
+        }
+    }
+
+    @Override
+    public void readUInt32s(long[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        while (len > 0) {
+            int n = source.require(len, Integer.BYTES);
+            byte[] data = source.data;
+            for (int i = source.offset, end = off + n; off < end; ++off, i += Integer.BYTES) {
+                dst[off] = Integer.toUnsignedLong((int) ByteViews.INT_LE.get(data, i));
+            }
+            source.offset += n * Integer.BYTES;
+            len -= n;
+        }
     }
     //</editor-fold>
 }
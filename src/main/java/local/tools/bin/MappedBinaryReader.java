@@ -0,0 +1,59 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Random access Binary Reader over memory-mapped files of any size (Big Endian and Little Endian).
+ * File is mapped in segments of {@link OffHeapMemory#SEGMENT_SIZE} bytes, to get past 2 GB limit of
+ * {@link java.nio.MappedByteBuffer}.
+ */
+public final class MappedBinaryReader extends OffHeapReader implements AutoCloseable {
+
+    //<editor-fold defaultstate="collapsed" desc="Constructors">
+    public MappedBinaryReader(Path file, EndianType endianType) throws IOException {
+        super(OffHeapMemory.map(file), endianType);
+    }
+
+    public MappedBinaryReader(String filename, EndianType endianType) throws IOException {
+        this(Paths.get(filename), endianType);
+    }
+
+    public MappedBinaryReader(Path file) throws IOException {
+        this(file, EndianType.LittleEndian);
+    }
+
+    public MappedBinaryReader(String filename) throws IOException {
+        this(filename, EndianType.LittleEndian);
+    }
+    //</editor-fold>
+
+    @Override
+    public void close() {
+        getMemory().close();
+    }
+}
@@ -26,6 +26,7 @@ package local.tools.bin;
 import local.tools.primitives.*;
 
 import java.io.IOException;
+import java.util.Objects;
 
 public interface NumberReader {
 
@@ -60,4 +61,219 @@ public interface NumberReader {
     public Float32 readFloat32() throws IOException;
 
     public Float64 readFloat64() throws IOException;
+
+    /**
+     * Returns number reader of the same source decoding in given byte order and sharing its position.
+     * Used to mix byte orders within one record; readers without shared position support only their own byte order.
+     */
+    public default NumberReader withEndianType(EndianType endianType) {
+        throw new UnsupportedOperationException(String.format("%s does not support switching to %s.", getClass().getSimpleName(), endianType));
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Unsigned Primitives">
+    public default int readUInt8AsInt() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    public default int readUInt16AsInt() throws IOException {
+        return Short.toUnsignedInt(readShort());
+    }
+
+    public default long readUInt32AsLong() throws IOException {
+        return Integer.toUnsignedLong(readInt());
+    }
+
+    /**
+     * Returns raw 64 bits, negative numbers stand for values above {@link Long#MAX_VALUE}.
+     */
+    public default long readUInt64AsLong() throws IOException {
+        return readLong();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Variable Length Integers">
+    /*
+     * Varints are unsigned LEB128: 7 bits per byte, least significant group first, high bit set on all bytes but the last.
+     * ZigZag maps signed values to unsigned ones (0, -1, 1, -2 -> 0, 1, 2, 3), so small negative numbers stay short.
+     */
+    public default int readVarInt() throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            byte b = readByte();
+            value |= (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Varint is longer than 5 bytes.");
+    }
+
+    public default long readVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            byte b = readByte();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IOException("Varint is longer than 10 bytes.");
+    }
+
+    public default int readZigZagInt() throws IOException {
+        int v = readVarInt();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    public default long readZigZagLong() throws IOException {
+        long v = readVarLong();
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    /**
+     * Reads 32-bit integer in .NET 7-bit encoded format, which is the same as varint.
+     */
+    public default int read7BitEncodedInt() throws IOException {
+        return readVarInt();
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Mutable Holders">
+    /*
+     * Holder methods refill given instance and return it, so one holder can be reused per record.
+     */
+    public default MutableInt8 readInt8(MutableInt8 into) throws IOException {
+        into.set(readByte());
+        return into;
+    }
+
+    public default MutableUInt8 readUInt8(MutableUInt8 into) throws IOException {
+        into.set(readUInt8AsInt());
+        return into;
+    }
+
+    public default MutableInt16 readInt16(MutableInt16 into) throws IOException {
+        into.set(readShort());
+        return into;
+    }
+
+    public default MutableUInt16 readUInt16(MutableUInt16 into) throws IOException {
+        into.set(readUInt16AsInt());
+        return into;
+    }
+
+    public default MutableInt32 readInt32(MutableInt32 into) throws IOException {
+        into.set(readInt());
+        return into;
+    }
+
+    public default MutableUInt32 readUInt32(MutableUInt32 into) throws IOException {
+        into.set(readUInt32AsLong());
+        return into;
+    }
+
+    public default MutableInt64 readInt64(MutableInt64 into) throws IOException {
+        into.set(readLong());
+        return into;
+    }
+
+    public default MutableUInt64 readUInt64(MutableUInt64 into) throws IOException {
+        into.set(readUInt64AsLong());
+        return into;
+    }
+
+    public default MutableFloat32 readFloat32(MutableFloat32 into) throws IOException {
+        into.set(readFloat());
+        return into;
+    }
+
+    public default MutableFloat64 readFloat64(MutableFloat64 into) throws IOException {
+        into.set(readDouble());
+        return into;
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Bulk Arrays">
+    /*
+     * Bulk methods read len values into dst starting at off.
+     * Implementations decode whole blocks at once; defaults read values one by one.
+     */
+    public default void readBytes(byte[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = readByte();
+    }
+
+    public default void readShorts(short[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = readShort();
+    }
+
+    public default void readInts(int[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = readInt();
+    }
+
+    public default void readLongs(long[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = readLong();
+    }
+
+    public default void readFloats(float[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = readFloat();
+    }
+
+    public default void readDoubles(double[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = readDouble();
+    }
+
+    public default void readUInt16s(int[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = Short.toUnsignedInt(readShort());
+    }
+
+    public default void readUInt32s(long[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        for (int i = off, end = off + len; i < end; ++i) dst[i] = Integer.toUnsignedLong(readInt());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Packed Unsigned Arrays">
+    public default UInt8Array readUInt8Array(int length) throws IOException {
+        UInt8Array array = new UInt8Array(length);
+        readBytes(array.array(), 0, length);
+        return array;
+    }
+
+    public default void readUInt8Array(UInt8Array dst, int off, int len) throws IOException {
+        readBytes(dst.array(), off, len);
+    }
+
+    public default UInt16Array readUInt16Array(int length) throws IOException {
+        UInt16Array array = new UInt16Array(length);
+        readShorts(array.array(), 0, length);
+        return array;
+    }
+
+    public default void readUInt16Array(UInt16Array dst, int off, int len) throws IOException {
+        readShorts(dst.array(), off, len);
+    }
+
+    public default UInt32Array readUInt32Array(int length) throws IOException {
+        UInt32Array array = new UInt32Array(length);
+        readInts(array.array(), 0, length);
+        return array;
+    }
+
+    public default void readUInt32Array(UInt32Array dst, int off, int len) throws IOException {
+        readInts(dst.array(), off, len);
+    }
+
+    public default UInt64Array readUInt64Array(int length) throws IOException {
+        UInt64Array array = new UInt64Array(length);
+        readLongs(array.array(), 0, length);
+        return array;
+    }
+
+    public default void readUInt64Array(UInt64Array dst, int off, int len) throws IOException {
+        readLongs(dst.array(), off, len);
+    }
+    //</editor-fold>
 }
@@ -26,9 +26,15 @@ package local.tools.bin;
 import local.tools.primitives.*;
 
 import java.io.IOException;
+import java.util.Objects;
 
 public interface NumberWriter {
 
+    /**
+     * Writes buffered bytes to the underlying target.
+     */
+    public void flush() throws IOException;
+
     public void writeByte(int v) throws IOException;
 
     public void writeShort(int v) throws IOException;
@@ -60,4 +66,155 @@ public interface NumberWriter {
     public void writeFloat32(Float32 v) throws IOException;
 
     public void writeFloat64(Float64 v) throws IOException;
+
+    /**
+     * Returns number writer of the same target encoding in given byte order and sharing its position.
+     * Used to mix byte orders within one record; writers without shared position support only their own byte order.
+     */
+    public default NumberWriter withEndianType(EndianType endianType) {
+        throw new UnsupportedOperationException(String.format("%s does not support switching to %s.", getClass().getSimpleName(), endianType));
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Unsigned Primitives">
+    /* Unsigned values are written without range check, only their low 8, 16, 32 or 64 bits */
+    public default void writeUInt8(int v) throws IOException {
+        writeByte(v);
+    }
+
+    public default void writeUInt16(int v) throws IOException {
+        writeShort(v);
+    }
+
+    public default void writeUInt32(long v) throws IOException {
+        writeInt((int) v);
+    }
+
+    public default void writeUInt64(long v) throws IOException {
+        writeLong(v);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Variable Length Integers">
+    /*
+     * Varints are unsigned LEB128: 7 bits per byte, least significant group first, high bit set on all bytes but the last.
+     * ZigZag maps signed values to unsigned ones (0, -1, 1, -2 -> 0, 1, 2, 3), so small negative numbers stay short.
+     */
+    public default void writeVarInt(int v) throws IOException {
+        while ((v & ~0x7f) != 0) {
+            writeByte((v & 0x7f) | 0x80);
+            v >>>= 7;
+        }
+        writeByte(v);
+    }
+
+    public default void writeVarLong(long v) throws IOException {
+        while ((v & ~0x7fL) != 0) {
+            writeByte((int) (v & 0x7f) | 0x80);
+            v >>>= 7;
+        }
+        writeByte((int) v);
+    }
+
+    public default void writeZigZagInt(int v) throws IOException {
+        writeVarInt((v << 1) ^ (v >> 31));
+    }
+
+    public default void writeZigZagLong(long v) throws IOException {
+        writeVarLong((v << 1) ^ (v >> 63));
+    }
+
+    /**
+     * Writes 32-bit integer in .NET 7-bit encoded format, which is the same as varint.
+     */
+    public default void write7BitEncodedInt(int v) throws IOException {
+        writeVarInt(v);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Bulk Arrays">
+    /*
+     * Bulk methods write len values from src starting at off.
+     * Implementations encode whole blocks at once; defaults write values one by one.
+     */
+    public default void writeBytes(byte[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeByte(src[i]);
+    }
+
+    public default void writeShorts(short[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeShort(src[i]);
+    }
+
+    public default void writeChars(char[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeShort(src[i]);
+    }
+
+    public default void writeInts(int[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeInt(src[i]);
+    }
+
+    public default void writeLongs(long[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeLong(src[i]);
+    }
+
+    public default void writeFloats(float[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeFloat(src[i]);
+    }
+
+    public default void writeDoubles(double[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeDouble(src[i]);
+    }
+
+    /* Low 16 bits of each value are written */
+    public default void writeUInt16s(int[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeShort(src[i]);
+    }
+
+    /* Low 32 bits of each value are written */
+    public default void writeUInt32s(long[] src, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, src.length);
+        for (int i = off, end = off + len; i < end; ++i) writeInt((int) src[i]);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Packed Unsigned Arrays">
+    public default void writeUInt8Array(UInt8Array src) throws IOException {
+        writeBytes(src.array(), 0, src.length());
+    }
+
+    public default void writeUInt8Array(UInt8Array src, int off, int len) throws IOException {
+        writeBytes(src.array(), off, len);
+    }
+
+    public default void writeUInt16Array(UInt16Array src) throws IOException {
+        writeShorts(src.array(), 0, src.length());
+    }
+
+    public default void writeUInt16Array(UInt16Array src, int off, int len) throws IOException {
+        writeShorts(src.array(), off, len);
+    }
+
+    public default void writeUInt32Array(UInt32Array src) throws IOException {
+        writeInts(src.array(), 0, src.length());
+    }
+
+    public default void writeUInt32Array(UInt32Array src, int off, int len) throws IOException {
+        writeInts(src.array(), off, len);
+    }
+
+    public default void writeUInt64Array(UInt64Array src) throws IOException {
+        writeLongs(src.array(), 0, src.length());
+    }
+
+    public default void writeUInt64Array(UInt64Array src, int off, int len) throws IOException {
+        writeLongs(src.array(), off, len);
+    }
+    //</editor-fold>
 }
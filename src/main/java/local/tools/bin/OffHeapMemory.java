@@ -0,0 +1,302 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import local.tools.primitives.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Off-heap memory block of any size addressed by long offsets.
+ * Memory is either allocated as direct buffers or mapped from a file, in segments of
+ * {@link #SEGMENT_SIZE} bytes. Values crossing a segment border are assembled byte by byte.
+ * <p>
+ * Memory is scoped by {@link #close()}: segments are released and any further access fails.
+ * Native memory itself is reclaimed once the segments become unreachable.
+ */
+public final class OffHeapMemory implements AutoCloseable {
+
+    private final static int SEGMENT_SHIFT = 30;
+    public final static long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private final static long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+    private final long size;
+    private ByteBuffer[] segments;
+
+    private OffHeapMemory(ByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Factory Methods">
+    /**
+     * Allocates zeroed off-heap scratch memory.
+     */
+    public static OffHeapMemory allocate(long size) {
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(size)];
+        for (int i = 0; i < segments.length; ++i) {
+            segments[i] = ByteBuffer.allocateDirect((int) segmentLength(i, size));
+        }
+        return new OffHeapMemory(segments, size);
+    }
+
+    /**
+     * Maps whole file read-only.
+     */
+    public static OffHeapMemory map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return map(channel, FileChannel.MapMode.READ_ONLY, channel.size());
+        }
+    }
+
+    /**
+     * Maps first size bytes of the file, file is created or extended when mapped for writing.
+     */
+    public static OffHeapMemory map(Path file, FileChannel.MapMode mode, long size) throws IOException {
+        if (mode == FileChannel.MapMode.READ_ONLY) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                return map(channel, mode, size);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return map(channel, mode, size);
+        }
+    }
+
+    /**
+     * Maps first size bytes of the channel. Mapping stays valid after the channel is closed.
+     */
+    public static OffHeapMemory map(FileChannel channel, FileChannel.MapMode mode, long size) throws IOException {
+        return map(channel, mode, 0, size);
+    }
+
+    /**
+     * Maps size bytes of the channel from given position, offset 0 of the memory is that position.
+     */
+    public static OffHeapMemory map(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+        if (position < 0) throw new IllegalArgumentException(String.format("Position '%d' is negative.", position));
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(size)];
+        for (int i = 0; i < segments.length; ++i) {
+            segments[i] = channel.map(mode, position + ((long) i << SEGMENT_SHIFT), segmentLength(i, size));
+        }
+        return new OffHeapMemory(segments, size);
+    }
+
+    private static int segmentCount(long size) {
+        if (size < 0) throw new IllegalArgumentException(String.format("Memory size '%d' is negative.", size));
+        return (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+    }
+
+    private static long segmentLength(int segment, long size) {
+        return Math.min(SEGMENT_SIZE, size - ((long) segment << SEGMENT_SHIFT));
+    }
+    //</editor-fold>
+
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes changes of file mapped memory to the storage device.
+     */
+    public void force() {
+        for (ByteBuffer segment : segments) {
+            if (segment instanceof MappedByteBuffer) ((MappedByteBuffer) segment).force();
+        }
+    }
+
+    @Override
+    public void close() {
+        segments = new ByteBuffer[0];
+    }
+
+    private ByteBuffer segment(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)];
+    }
+
+    private static int index(long offset) {
+        return (int) (offset & SEGMENT_MASK);
+    }
+
+    /* Checks if count bytes from offset are within single segment. */
+    private static boolean contiguous(long offset, int count) {
+        return (offset & SEGMENT_MASK) <= SEGMENT_SIZE - count;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Getters">
+    public byte getByte(long offset) {
+        return segment(offset).get(index(offset));
+    }
+
+    public short getShort(long offset, EndianType endianType) {
+        boolean bigEndian = (endianType == EndianType.BigEndian);
+        if (contiguous(offset, Short.BYTES)) {
+            ByteBuffer segment = segment(offset);
+            int index = index(offset);
+            return bigEndian ? (short) ByteViews.BUFFER_SHORT_BE.get(segment, index) : (short) ByteViews.BUFFER_SHORT_LE.get(segment, index);
+        }
+        byte a = getByte(offset);
+        byte b = getByte(offset + 1);
+        return bigEndian ? Int16.packBytes(a, b) : Int16.packBytes(b, a);
+    }
+
+    public int getInt(long offset, EndianType endianType) {
+        boolean bigEndian = (endianType == EndianType.BigEndian);
+        if (contiguous(offset, Integer.BYTES)) {
+            ByteBuffer segment = segment(offset);
+            int index = index(offset);
+            return bigEndian ? (int) ByteViews.BUFFER_INT_BE.get(segment, index) : (int) ByteViews.BUFFER_INT_LE.get(segment, index);
+        }
+        byte a = getByte(offset), b = getByte(offset + 1), c = getByte(offset + 2), d = getByte(offset + 3);
+        return bigEndian ? Int32.packBytes(a, b, c, d) : Int32.packBytes(d, c, b, a);
+    }
+
+    public long getLong(long offset, EndianType endianType) {
+        boolean bigEndian = (endianType == EndianType.BigEndian);
+        if (contiguous(offset, Long.BYTES)) {
+            ByteBuffer segment = segment(offset);
+            int index = index(offset);
+            return bigEndian ? (long) ByteViews.BUFFER_LONG_BE.get(segment, index) : (long) ByteViews.BUFFER_LONG_LE.get(segment, index);
+        }
+        byte a = getByte(offset), b = getByte(offset + 1), c = getByte(offset + 2), d = getByte(offset + 3);
+        byte e = getByte(offset + 4), f = getByte(offset + 5), g = getByte(offset + 6), h = getByte(offset + 7);
+        return bigEndian ? Int64.packBytes(a, b, c, d, e, f, g, h) : Int64.packBytes(h, g, f, e, d, c, b, a);
+    }
+
+    public float getFloat(long offset, EndianType endianType) {
+        return Float.intBitsToFloat(getInt(offset, endianType));
+    }
+
+    public double getDouble(long offset, EndianType endianType) {
+        return Double.longBitsToDouble(getLong(offset, endianType));
+    }
+
+    public void getBytes(long offset, byte[] buffer, int index, int count) {
+        while (count > 0) {
+            int from = index(offset);
+            int n = (int) Math.min(count, SEGMENT_SIZE - from);
+            segment(offset).get(from, buffer, index, n);
+            offset += n;
+            index += n;
+            count -= n;
+        }
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Setters">
+    public void putByte(long offset, byte value) {
+        segment(offset).put(index(offset), value);
+    }
+
+    public void putShort(long offset, short value, EndianType endianType) {
+        boolean bigEndian = (endianType == EndianType.BigEndian);
+        if (contiguous(offset, Short.BYTES)) {
+            ByteBuffer segment = segment(offset);
+            int index = index(offset);
+            if (bigEndian) ByteViews.BUFFER_SHORT_BE.set(segment, index, value);
+            else ByteViews.BUFFER_SHORT_LE.set(segment, index, value);
+            return;
+        }
+        putBytes(offset, value, Short.BYTES, bigEndian);
+    }
+
+    public void putInt(long offset, int value, EndianType endianType) {
+        boolean bigEndian = (endianType == EndianType.BigEndian);
+        if (contiguous(offset, Integer.BYTES)) {
+            ByteBuffer segment = segment(offset);
+            int index = index(offset);
+            if (bigEndian) ByteViews.BUFFER_INT_BE.set(segment, index, value);
+            else ByteViews.BUFFER_INT_LE.set(segment, index, value);
+            return;
+        }
+        putBytes(offset, value, Integer.BYTES, bigEndian);
+    }
+
+    public void putLong(long offset, long value, EndianType endianType) {
+        boolean bigEndian = (endianType == EndianType.BigEndian);
+        if (contiguous(offset, Long.BYTES)) {
+            ByteBuffer segment = segment(offset);
+            int index = index(offset);
+            if (bigEndian) ByteViews.BUFFER_LONG_BE.set(segment, index, value);
+            else ByteViews.BUFFER_LONG_LE.set(segment, index, value);
+            return;
+        }
+        putBytes(offset, value, Long.BYTES, bigEndian);
+    }
+
+    public void putFloat(long offset, float value, EndianType endianType) {
+        putInt(offset, Float.floatToRawIntBits(value), endianType);
+    }
+
+    public void putDouble(long offset, double value, EndianType endianType) {
+        putLong(offset, Double.doubleToRawLongBits(value), endianType);
+    }
+
+    public void putBytes(long offset, byte[] buffer, int index, int count) {
+        while (count > 0) {
+            int to = index(offset);
+            int n = (int) Math.min(count, SEGMENT_SIZE - to);
+            segment(offset).put(to, buffer, index, n);
+            offset += n;
+            index += n;
+            count -= n;
+        }
+    }
+
+    /**
+     * Writes count chars as 2-byte code units through char views of the segments.
+     */
+    public void putChars(long offset, char[] buffer, int index, int count, EndianType endianType) {
+        ByteOrder order = endianType == EndianType.BigEndian ? ByteOrder.BIG_ENDIAN : ByteOrder.LITTLE_ENDIAN;
+        while (count > 0) {
+            int to = index(offset);
+            int n = (int) Math.min(count, (SEGMENT_SIZE - to) / Character.BYTES);
+            if (n == 0) {
+                // Single char crossing segment border
+                putShort(offset, (short) buffer[index], endianType);
+                n = 1;
+            } else {
+                segment(offset).duplicate().position(to).order(order).asCharBuffer().put(buffer, index, n);
+            }
+            offset += (long) n * Character.BYTES;
+            index += n;
+            count -= n;
+        }
+    }
+
+    /* Writes count low bytes of value one by one, used for values crossing segment border. */
+    private void putBytes(long offset, long value, int count, boolean bigEndian) {
+        for (int i = 0; i < count; ++i) {
+            int shift = bigEndian ? (count - 1 - i) << 3 : i << 3;
+            putByte(offset + i, (byte) (value >>> shift));
+        }
+    }
+    //</editor-fold>
+}
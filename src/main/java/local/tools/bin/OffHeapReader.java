@@ -0,0 +1,276 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import local.tools.primitives.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Random access Binary Reader over {@link OffHeapMemory} (Big Endian and Little Endian).
+ */
+public class OffHeapReader implements NumberReader {
+
+    /* End Of Line symbol */
+    private final static byte EOL = '\0';
+
+    private final OffHeapMemory memory;
+    private final EndianType endianType;
+    private final long size;
+
+    private final Cursor cursor;
+
+    private OffHeapReader swapped;
+
+    //<editor-fold defaultstate="collapsed" desc="Constructors">
+    public OffHeapReader(OffHeapMemory memory, EndianType endianType) {
+        this(memory, endianType, new Cursor());
+    }
+
+    private OffHeapReader(OffHeapMemory memory, EndianType endianType, Cursor cursor) {
+        this.memory = memory;
+        this.endianType = endianType;
+        this.size = memory.size();
+        this.cursor = cursor;
+    }
+
+    public OffHeapReader(OffHeapMemory memory) {
+        this(memory, EndianType.LittleEndian);
+    }
+    //</editor-fold>
+
+    public OffHeapMemory getMemory() {
+        return memory;
+    }
+
+    public EndianType getEndianType() {
+        return endianType;
+    }
+
+    /**
+     * Returns reader of the same memory in given byte order, both share one position.
+     */
+    @Override
+    public OffHeapReader withEndianType(EndianType endianType) {
+        if (endianType == this.endianType) return this;
+        if (swapped == null) {
+            swapped = new OffHeapReader(memory, endianType, cursor);
+            swapped.swapped = this;
+        }
+        return swapped;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long getPosition() {
+        return cursor.position;
+    }
+
+    public long remaining() {
+        return size - cursor.position;
+    }
+
+    public long skip(long count) {
+        long n = Math.min(Math.max(count, 0), size - cursor.position);
+        cursor.position += n;
+        return n;
+    }
+
+    public void seek(long position) throws IOException {
+        if (position < 0 || position > size)
+            throw new EOFException(String.format("Position %d is outside of memory size %d.", position, size));
+        cursor.position = position;
+    }
+
+    /* Advances position by count bytes and returns the previous one. */
+    private long next(int count) throws EOFException {
+        long offset = cursor.position;
+        if (size - offset < count)
+            throw new EOFException(String.format("Requested %d bytes but only %d available.", count, size - offset));
+        cursor.position = offset + count;
+        return offset;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Absolute Getters">
+    public byte getByte(long offset) {
+        return memory.getByte(offset);
+    }
+
+    public short getShort(long offset) {
+        return memory.getShort(offset, endianType);
+    }
+
+    public int getInt(long offset) {
+        return memory.getInt(offset, endianType);
+    }
+
+    public long getLong(long offset) {
+        return memory.getLong(offset, endianType);
+    }
+
+    public float getFloat(long offset) {
+        return memory.getFloat(offset, endianType);
+    }
+
+    public double getDouble(long offset) {
+        return memory.getDouble(offset, endianType);
+    }
+
+    public void getBytes(long offset, byte[] buffer, int index, int count) {
+        memory.getBytes(offset, buffer, index, count);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Bytes">
+    public int read() {
+        return (cursor.position < size) ? getByte(cursor.position++) & 0xff : -1;
+    }
+
+    public byte[] readBytes(int count) throws EOFException {
+        if (count < 0) throw new IllegalArgumentException(String.format("Count '%d' is negative.", count));
+        byte[] bytes = new byte[count];
+        getBytes(next(count), bytes, 0, count);
+        return bytes;
+    }
+
+    @Override
+    public void readBytes(byte[] dst, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, dst.length);
+        getBytes(next(len), dst, off, len);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Java Types">
+    public boolean readBoolean() throws IOException {
+        return (readByte() != 0);
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return getByte(next(Byte.BYTES));
+    }
+
+    public char readChar() throws IOException {
+        return (char) readShort();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return getShort(next(Short.BYTES));
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return getInt(next(Integer.BYTES));
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return getLong(next(Long.BYTES));
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return getFloat(next(Float.BYTES));
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return getDouble(next(Double.BYTES));
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Universal Primitives">
+    @Override
+    public Int8 readInt8() throws IOException {
+        return Int8.valueOf(readByte());
+    }
+
+    @Override
+    public Int16 readInt16() throws IOException {
+        return Int16.valueOf(readShort());
+    }
+
+    @Override
+    public Int32 readInt32() throws IOException {
+        return new Int32(readInt());
+    }
+
+    @Override
+    public Int64 readInt64() throws IOException {
+        return new Int64(readLong());
+    }
+
+    @Override
+    public UInt8 readUInt8() throws IOException {
+        return UInt8.valueOf(readByte());
+    }
+
+    @Override
+    public UInt16 readUInt16() throws IOException {
+        return UInt16.valueOf(Short.toUnsignedInt(readShort()));
+    }
+
+    @Override
+    public UInt32 readUInt32() throws IOException {
+        return new UInt32(Integer.toUnsignedLong(readInt()));
+    }
+
+    @Override
+    public UInt64 readUInt64() throws IOException {
+        return new UInt64(readLong());
+    }
+
+    @Override
+    public Float32 readFloat32() throws IOException {
+        return new Float32(readFloat());
+    }
+
+    @Override
+    public Float64 readFloat64() throws IOException {
+        return new Float64(readDouble());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Read Strings">
+    public String readString() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        while (cursor.position < size) {
+            byte b = getByte(cursor.position++);
+            if (b == EOL) break;
+            buffer.write(b);
+        }
+        return buffer.toString();
+    }
+
+    public String readString(int length) throws EOFException {
+        return new String(readBytes(length));
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,267 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import local.tools.primitives.*;
+
+import java.nio.BufferOverflowException;
+import java.util.Objects;
+
+/**
+ * Random access Binary Writer into {@link OffHeapMemory} (Big Endian and Little Endian).
+ */
+public final class OffHeapWriter implements NumberWriter {
+
+    private final static byte EOL = '\0';
+
+    private final OffHeapMemory memory;
+    private final EndianType endianType;
+    private final long size;
+
+    private final Cursor cursor;
+
+    private OffHeapWriter swapped;
+
+    //<editor-fold defaultstate="collapsed" desc="Constructors">
+    public OffHeapWriter(OffHeapMemory memory, EndianType endianType) {
+        this(memory, endianType, new Cursor());
+    }
+
+    private OffHeapWriter(OffHeapMemory memory, EndianType endianType, Cursor cursor) {
+        this.memory = memory;
+        this.endianType = endianType;
+        this.size = memory.size();
+        this.cursor = cursor;
+    }
+
+    public OffHeapWriter(OffHeapMemory memory) {
+        this(memory, EndianType.LittleEndian);
+    }
+    //</editor-fold>
+
+    public OffHeapMemory getMemory() {
+        return memory;
+    }
+
+    public EndianType getEndianType() {
+        return endianType;
+    }
+
+    /**
+     * Returns writer of the same memory in given byte order, both share one position.
+     */
+    @Override
+    public OffHeapWriter withEndianType(EndianType endianType) {
+        if (endianType == this.endianType) return this;
+        if (swapped == null) {
+            swapped = new OffHeapWriter(memory, endianType, cursor);
+            swapped.swapped = this;
+        }
+        return swapped;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public long getPosition() {
+        return cursor.position;
+    }
+
+    public long remaining() {
+        return size - cursor.position;
+    }
+
+    public void seek(long position) {
+        if (position < 0 || position > size)
+            throw new IndexOutOfBoundsException(String.format("Position %d is outside of memory size %d.", position, size));
+        cursor.position = position;
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    /* Advances position by count bytes and returns index of the first one. */
+    private long next(int count) {
+        long offset = cursor.position;
+        if (size - offset < count) throw new BufferOverflowException();
+        cursor.position = offset + count;
+        return offset;
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Absolute Setters">
+    public void putByte(long offset, byte value) {
+        memory.putByte(offset, value);
+    }
+
+    public void putShort(long offset, short value) {
+        memory.putShort(offset, value, endianType);
+    }
+
+    public void putInt(long offset, int value) {
+        memory.putInt(offset, value, endianType);
+    }
+
+    public void putLong(long offset, long value) {
+        memory.putLong(offset, value, endianType);
+    }
+
+    public void putFloat(long offset, float value) {
+        memory.putFloat(offset, value, endianType);
+    }
+
+    public void putDouble(long offset, double value) {
+        memory.putDouble(offset, value, endianType);
+    }
+
+    public void putBytes(long offset, byte[] buffer, int index, int count) {
+        memory.putBytes(offset, buffer, index, count);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Bytes">
+    public void write(byte[] data) {
+        write(data, 0, data.length);
+    }
+
+    public void write(byte[] data, int offset, int length) {
+        putBytes(next(length), data, offset, length);
+    }
+
+    @Override
+    public void writeBytes(byte[] src, int off, int len) {
+        write(src, off, len);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Java Types">
+    public void writeBoolean(boolean b) {
+        writeByte(b ? 1 : 0);
+    }
+
+    @Override
+    public void writeByte(int v) {
+        putByte(next(Byte.BYTES), (byte) v);
+    }
+
+    public void writeChar(char v) {
+        writeShort(v);
+    }
+
+    @Override
+    public void writeShort(int v) {
+        putShort(next(Short.BYTES), (short) v);
+    }
+
+    @Override
+    public void writeInt(int v) {
+        putInt(next(Integer.BYTES), v);
+    }
+
+    @Override
+    public void writeLong(long v) {
+        putLong(next(Long.BYTES), v);
+    }
+
+    @Override
+    public void writeFloat(float v) {
+        putFloat(next(Float.BYTES), v);
+    }
+
+    @Override
+    public void writeDouble(double v) {
+        putDouble(next(Double.BYTES), v);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Universal Primitives">
+    @Override
+    public void writeInt8(Int8 v) {
+        writeByte(v.intValue());
+    }
+
+    @Override
+    public void writeInt16(Int16 v) {
+        writeShort(v.intValue());
+    }
+
+    @Override
+    public void writeInt32(Int32 v) {
+        writeInt(v.intValue());
+    }
+
+    @Override
+    public void writeInt64(Int64 v) {
+        writeLong(v.longValue());
+    }
+
+    @Override
+    public void writeUInt8(UInt8 v) {
+        writeByte(v.intValue());
+    }
+
+    @Override
+    public void writeUInt16(UInt16 v) {
+        writeShort(v.intValue());
+    }
+
+    @Override
+    public void writeUInt32(UInt32 v) {
+        writeInt(v.intValue());
+    }
+
+    @Override
+    public void writeUInt64(UInt64 v) {
+        writeLong(v.longValue());
+    }
+
+    @Override
+    public void writeFloat32(Float32 v) {
+        writeFloat(v.floatValue());
+    }
+
+    @Override
+    public void writeFloat64(Float64 v) {
+        writeDouble(v.doubleValue());
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Write Strings">
+    public void writeBytes(String str) {
+        write(str.getBytes());
+        writeByte(EOL);
+    }
+
+    @Override
+    public void writeChars(char[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        memory.putChars(next(Math.multiplyExact(len, Character.BYTES)), src, off, len, endianType);
+    }
+
+    public void writeChars(char[] chars) {
+        writeChars(chars, 0, chars.length);
+    }
+    //</editor-fold>
+}
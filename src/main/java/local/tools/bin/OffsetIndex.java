@@ -0,0 +1,171 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * Memory-mapped index file written by {@link OffsetIndexer}, resolves record numbers to data offsets.
+ * Dense index gives offset of any record directly, sparse index gives offset of the nearest indexed record
+ * before it and the rest is skipped record by record.
+ * Offsets are positions of the reader used for indexing, data start included.
+ */
+public final class OffsetIndex implements AutoCloseable {
+
+    /* Header field offsets, see OffsetIndexer */
+    private final static int DATA_START = Integer.BYTES * 2;
+    private final static int RECORD_COUNT = DATA_START + Long.BYTES;
+    private final static int DATA_SIZE = RECORD_COUNT + Long.BYTES;
+
+    private final OffHeapMemory memory;
+    private final int interval;
+    private final long dataStart;
+    private final long recordCount;
+    private final long dataSize;
+    private final long entryCount;
+
+    private OffsetIndex(OffHeapMemory memory) throws IOException {
+        this.memory = memory;
+        if (memory.size() < OffsetIndexer.HEADER_SIZE || memory.getInt(0, EndianType.LittleEndian) != OffsetIndexer.MAGIC)
+            throw new IOException("Not an offset index file.");
+
+        this.interval = memory.getInt(Integer.BYTES, EndianType.LittleEndian);
+        this.dataStart = memory.getLong(DATA_START, EndianType.LittleEndian);
+        this.recordCount = memory.getLong(RECORD_COUNT, EndianType.LittleEndian);
+        this.dataSize = memory.getLong(DATA_SIZE, EndianType.LittleEndian);
+        this.entryCount = (memory.size() - OffsetIndexer.HEADER_SIZE) / Long.BYTES;
+        if (interval <= 0 || entryCount != (recordCount + interval - 1) / interval)
+            throw new IOException(String.format("Offset index has %d entries for %d records.", entryCount, recordCount));
+    }
+
+    public static OffsetIndex open(Path index) throws IOException {
+        return new OffsetIndex(OffHeapMemory.map(index));
+    }
+
+    /* Patches totals into header of index file written by OffsetIndexer. */
+    static void writeTotals(Path index, long recordCount, long dataSize) throws IOException {
+        try (OffHeapMemory header = OffHeapMemory.map(index, FileChannel.MapMode.READ_WRITE, OffsetIndexer.HEADER_SIZE)) {
+            header.putLong(RECORD_COUNT, recordCount, EndianType.LittleEndian);
+            header.putLong(DATA_SIZE, dataSize, EndianType.LittleEndian);
+            header.force();
+        }
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public boolean isDense() {
+        return interval == 1;
+    }
+
+    public long getDataStart() {
+        return dataStart;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    public long getDataSize() {
+        return dataSize;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    /**
+     * Returns number of the nearest indexed record at or before given one.
+     */
+    public long floorRecord(long record) {
+        checkRecord(record);
+        return record - record % interval;
+    }
+
+    /**
+     * Returns offset of the nearest indexed record at or before given one.
+     */
+    public long floorOffset(long record) {
+        checkRecord(record);
+        return entry(record / interval);
+    }
+
+    /**
+     * Returns offset of an indexed record, any record of a dense index.
+     */
+    public long offsetOf(long record) {
+        checkRecord(record);
+        if (record % interval != 0)
+            throw new IllegalArgumentException(String.format("Record %d is not indexed, index interval is %d.", record, interval));
+        return entry(record / interval);
+    }
+
+    /**
+     * Positions reader at the first byte of given record, reader positions must count from the same origin
+     * as the indexing reader (file start for readers opened on the file). Record count positions reader at the end of data.
+     */
+    public void seek(BinaryReader reader, long record, RecordSkipper skipper) throws IOException {
+        if (record == recordCount) {
+            reader.seek(dataStart + dataSize);
+            return;
+        }
+        long floor = floorRecord(record);
+        reader.seek(entry(floor / interval));
+        for (long i = floor; i < record; ++i) {
+            skipper.skip(reader);
+        }
+    }
+
+    /**
+     * Opens data file positioned at the first byte of given record.
+     */
+    public BinaryReader open(Path data, EndianType endianType, long record, RecordSkipper skipper) throws IOException {
+        BinaryReader reader = new BinaryReader(data.toString(), endianType);
+        try {
+            seek(reader, record, skipper);
+            return reader;
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() {
+        memory.close();
+    }
+
+    /* Returns reader position of indexed entry */
+    private long entry(long index) {
+        return dataStart + memory.getLong(OffsetIndexer.HEADER_SIZE + index * Long.BYTES, EndianType.LittleEndian);
+    }
+
+    private void checkRecord(long record) {
+        if (record < 0 || record >= recordCount)
+            throw new IndexOutOfBoundsException(String.format("Record %d is outside of %d records.", record, recordCount));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Walks a record file once and writes offsets of every Nth record (sparse) or every record (dense) into an index file.
+ * Index file is little endian: magic, interval, data start, record count, data size,
+ * then one long offset per indexed record relative to the data start.
+ */
+public final class OffsetIndexer {
+
+    final static int MAGIC = 0x5844494F; // "OIDX"
+    final static int HEADER_SIZE = Integer.BYTES * 2 + Long.BYTES * 3;
+
+    private final RecordSkipper skipper;
+    private final int interval;
+
+    public OffsetIndexer(RecordSkipper skipper, int interval) {
+        if (interval <= 0)
+            throw new IllegalArgumentException(String.format("Index interval '%d' must be positive.", interval));
+        this.skipper = skipper;
+        this.interval = interval;
+    }
+
+    public static OffsetIndexer dense(RecordSkipper skipper) {
+        return new OffsetIndexer(skipper, 1);
+    }
+
+    public static OffsetIndexer sparse(RecordSkipper skipper, int interval) {
+        return new OffsetIndexer(skipper, interval);
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Indexes records from the reader position to the end of source and returns number of records.
+     * Reader position when called is stored as data start, so data may follow a header.
+     */
+    public long build(BinaryReader reader, Path index) throws IOException {
+        long start = reader.getPosition();
+        long count = 0;
+        try (BinaryWriter writer = new BinaryWriter(index.toString(), EndianType.LittleEndian)) {
+            writer.writeInt(MAGIC);
+            writer.writeInt(interval);
+            writer.writeLong(start);
+            // Record count and data size are patched once known
+            writer.writeLong(0);
+            writer.writeLong(0);
+
+            while (reader.hasRemaining()) {
+                if (count % interval == 0) writer.writeLong(reader.getPosition() - start);
+                skipper.skip(reader);
+                ++count;
+            }
+        }
+        OffsetIndex.writeTotals(index, count, reader.getPosition() - start);
+        return count;
+    }
+
+    public long build(Path data, EndianType endianType, Path index) throws IOException {
+        try (BinaryReader reader = new BinaryReader(data.toString(), endianType)) {
+            return build(reader, index);
+        }
+    }
+}
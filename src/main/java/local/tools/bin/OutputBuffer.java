@@ -0,0 +1,167 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Write buffer over an Output Target shared by {@link BinaryWriter} and number writers.
+ * Values are encoded straight into {@link #data} and flushed to the target in blocks.
+ */
+final class OutputBuffer extends OutputStream {
+
+    private final OutputStream target;
+
+    /* Pending bytes, valid in range [0, count) */
+    byte[] data;
+    int count = 0;
+
+    OutputBuffer(OutputStream target, int capacity) {
+        if (capacity < Long.BYTES)
+            throw new IllegalArgumentException(String.format("Buffer size '%d' is less than %d bytes.", capacity, Long.BYTES));
+        this.target = target;
+        this.data = new byte[capacity];
+    }
+
+    /**
+     * Reserves length bytes and returns index of the first one in {@link #data}.
+     * Note: {@link #data} may be reallocated, so it must be fetched after this call.
+     */
+    int reserve(int length) throws IOException {
+        int index = count;
+        if (data.length - index < length) {
+            index = drain(length);
+        }
+        count = index + length;
+        return index;
+    }
+
+    /**
+     * Makes room for at least one value of size bytes and returns number of whole values that fit, up to n.
+     * Values start at {@link #count}, which the caller advances after encoding them.
+     */
+    int require(int n, int size) throws IOException {
+        if (data.length - count < size) {
+            drain(size);
+        }
+        return Math.min(n, (data.length - count) / size);
+    }
+
+    /**
+     * Encodes varint straight into the buffer, 1 and 2 byte values take the shortest path.
+     */
+    void writeVarInt(int v) throws IOException {
+        if (data.length - count < 5) drain(5);
+        byte[] data = this.data;
+        int i = count;
+        if ((v & ~0x7f) == 0) {
+            data[i] = (byte) v;
+            count = i + 1;
+            return;
+        }
+        if ((v & ~0x3fff) == 0) {
+            data[i] = (byte) (v | 0x80);
+            data[i + 1] = (byte) (v >>> 7);
+            count = i + 2;
+            return;
+        }
+        while ((v & ~0x7f) != 0) {
+            data[i++] = (byte) (v | 0x80);
+            v >>>= 7;
+        }
+        data[i++] = (byte) v;
+        count = i;
+    }
+
+    void writeVarLong(long v) throws IOException {
+        if ((v & ~0x7fffffffL) == 0) {
+            writeVarInt((int) v);
+            return;
+        }
+        if (data.length - count < 10) drain(10);
+        byte[] data = this.data;
+        int i = count;
+        while ((v & ~0x7fL) != 0) {
+            data[i++] = (byte) (v | 0x80);
+            v >>>= 7;
+        }
+        data[i++] = (byte) v;
+        count = i;
+    }
+
+    private int drain(int length) throws IOException {
+        flushBuffer();
+        if (length > data.length) {
+            data = Arrays.copyOf(data, Math.max(length, data.length << 1));
+        }
+        return 0;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            target.write(data, 0, count);
+            count = 0;
+        }
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="OutputStream Methods">
+    @Override
+    public void write(int b) throws IOException {
+        if (count == data.length) flushBuffer();
+        data[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] buffer, int offset, int length) throws IOException {
+        Objects.checkFromIndexSize(offset, length, buffer.length);
+        if (length >= data.length) {
+            // Large blocks bypass the buffer
+            flushBuffer();
+            target.write(buffer, offset, length);
+            return;
+        }
+        if (length > data.length - count) flushBuffer();
+        System.arraycopy(buffer, offset, data, count, length);
+        count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        target.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flushBuffer();
+        } finally {
+            target.close();
+        }
+    }
+    //</editor-fold>
+}
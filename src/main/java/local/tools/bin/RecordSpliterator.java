@@ -0,0 +1,119 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator over fixed-size records of {@link OffHeapMemory}, split by byte range at record boundaries.
+ * Each split decodes its records with own {@link OffHeapReader}, so parallel streams read memory concurrently.
+ * Reader is positioned at the start of each record, so decoder may read less than record size.
+ */
+public final class RecordSpliterator<T> implements Spliterator<T> {
+
+    private final OffHeapMemory memory;
+    private final EndianType endianType;
+    private final long offset;
+    private final int recordSize;
+    private final RecordDecoder<T> decoder;
+
+    /* Records in range [index, fence) */
+    private long index;
+    private final long fence;
+
+    private OffHeapReader reader;
+
+    /**
+     * Covers whole records from offset to the end of memory, trailing partial record is ignored.
+     */
+    public RecordSpliterator(OffHeapMemory memory, EndianType endianType, long offset, int recordSize, RecordDecoder<T> decoder) {
+        this(memory, endianType, offset, recordSize, decoder, 0, count(memory, offset, recordSize));
+    }
+
+    private RecordSpliterator(OffHeapMemory memory, EndianType endianType, long offset, int recordSize, RecordDecoder<T> decoder, long index, long fence) {
+        this.memory = memory;
+        this.endianType = endianType;
+        this.offset = offset;
+        this.recordSize = recordSize;
+        this.decoder = decoder;
+        this.index = index;
+        this.fence = fence;
+    }
+
+    static long count(OffHeapMemory memory, long offset, int recordSize) {
+        if (recordSize <= 0)
+            throw new IllegalArgumentException(String.format("Record size '%d' must be positive.", recordSize));
+        if (offset < 0 || offset > memory.size())
+            throw new IllegalArgumentException(String.format("Offset %d is outside of memory size %d.", offset, memory.size()));
+        return (memory.size() - offset) / recordSize;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        if (index >= fence) return false;
+        action.accept(decode(index++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action) {
+        long i = index;
+        index = fence;
+        for (; i < fence; ++i) {
+            action.accept(decode(i));
+        }
+    }
+
+    private T decode(long record) {
+        if (reader == null) reader = new OffHeapReader(memory, endianType);
+        try {
+            reader.seek(offset + record * recordSize);
+            return decoder.decode(reader);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        long low = index;
+        long mid = (low + fence) >>> 1;
+        if (low >= mid) return null;
+        index = mid;
+        return new RecordSpliterator<>(memory, endianType, offset, recordSize, decoder, low, mid);
+    }
+
+    @Override
+    public long estimateSize() {
+        return fence - index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED | IMMUTABLE;
+    }
+}
@@ -0,0 +1,265 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Spliterator;
+import java.util.function.DoubleConsumer;
+import java.util.function.IntConsumer;
+import java.util.function.LongConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streams over fixed-size records of {@link OffHeapMemory} and mapped files.
+ * Streams are sequential, call {@code parallel()} to decode ranges of records on ForkJoinPool.
+ * Streams opened from a file release their mapping when closed, so use them in try-with-resources;
+ * the file is unmapped once the mapping is garbage collected.
+ */
+public final class RecordStreams {
+
+    private RecordStreams() {
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Record Streams">
+    public static <T> Stream<T> stream(OffHeapMemory memory, EndianType endianType, long offset, int recordSize, RecordDecoder<T> decoder) {
+        return StreamSupport.stream(new RecordSpliterator<>(memory, endianType, offset, recordSize, decoder), false);
+    }
+
+    public static <T> Stream<T> stream(OffHeapMemory memory, EndianType endianType, int recordSize, RecordDecoder<T> decoder) {
+        return stream(memory, endianType, 0, recordSize, decoder);
+    }
+
+    public static <T> Stream<T> stream(Path file, EndianType endianType, long offset, int recordSize, RecordDecoder<T> decoder) throws IOException {
+        OffHeapMemory memory = OffHeapMemory.map(file);
+        return stream(memory, endianType, offset, recordSize, decoder).onClose(memory::close);
+    }
+
+    public static <T> Stream<T> stream(Path file, EndianType endianType, int recordSize, RecordDecoder<T> decoder) throws IOException {
+        return stream(file, endianType, 0, recordSize, decoder);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Column Streams">
+    /*
+     * Column streams read one value at offset + i * stride, stride equal to value size reads packed array of values.
+     */
+    public static IntStream intStream(OffHeapMemory memory, EndianType endianType, long offset, int stride) {
+        return StreamSupport.intStream(new IntColumn(memory, endianType, offset, stride, Integer.BYTES), false);
+    }
+
+    public static IntStream intStream(OffHeapMemory memory, EndianType endianType) {
+        return intStream(memory, endianType, 0, Integer.BYTES);
+    }
+
+    public static IntStream intStream(Path file, EndianType endianType) throws IOException {
+        OffHeapMemory memory = OffHeapMemory.map(file);
+        return intStream(memory, endianType).onClose(memory::close);
+    }
+
+    public static LongStream longStream(OffHeapMemory memory, EndianType endianType, long offset, int stride) {
+        return StreamSupport.longStream(new LongColumn(memory, endianType, offset, stride, Long.BYTES), false);
+    }
+
+    public static LongStream longStream(OffHeapMemory memory, EndianType endianType) {
+        return longStream(memory, endianType, 0, Long.BYTES);
+    }
+
+    public static LongStream longStream(Path file, EndianType endianType) throws IOException {
+        OffHeapMemory memory = OffHeapMemory.map(file);
+        return longStream(memory, endianType).onClose(memory::close);
+    }
+
+    public static DoubleStream doubleStream(OffHeapMemory memory, EndianType endianType, long offset, int stride) {
+        return StreamSupport.doubleStream(new DoubleColumn(memory, endianType, offset, stride, Double.BYTES), false);
+    }
+
+    public static DoubleStream doubleStream(OffHeapMemory memory, EndianType endianType) {
+        return doubleStream(memory, endianType, 0, Double.BYTES);
+    }
+
+    public static DoubleStream doubleStream(Path file, EndianType endianType) throws IOException {
+        OffHeapMemory memory = OffHeapMemory.map(file);
+        return doubleStream(memory, endianType).onClose(memory::close);
+    }
+    //</editor-fold>
+
+    //<editor-fold defaultstate="collapsed" desc="Column Spliterators">
+    /* Range [index, fence) of values at offset + i * stride */
+    private static abstract class Column {
+
+        final OffHeapMemory memory;
+        final EndianType endianType;
+        final long offset;
+        final int stride;
+
+        long index;
+        final long fence;
+
+        Column(OffHeapMemory memory, EndianType endianType, long offset, int stride, int size) {
+            if (stride < size)
+                throw new IllegalArgumentException(String.format("Stride '%d' is less than value size %d.", stride, size));
+            if (offset < 0 || offset > memory.size())
+                throw new IllegalArgumentException(String.format("Offset %d is outside of memory size %d.", offset, memory.size()));
+            this.memory = memory;
+            this.endianType = endianType;
+            this.offset = offset;
+            this.stride = stride;
+            // Last value needs only its own size, not the whole stride
+            long available = memory.size() - offset;
+            this.index = 0;
+            this.fence = (available < size) ? 0 : (available - size) / stride + 1;
+        }
+
+        Column(Column parent, long index, long fence) {
+            this.memory = parent.memory;
+            this.endianType = parent.endianType;
+            this.offset = parent.offset;
+            this.stride = parent.stride;
+            this.index = index;
+            this.fence = fence;
+        }
+
+        /* Moves this range to its upper half and returns lower bound of the lower half, or -1 if too small */
+        long split() {
+            long low = index;
+            long mid = (low + fence) >>> 1;
+            if (low >= mid) return -1;
+            index = mid;
+            return low;
+        }
+
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE | Spliterator.NONNULL;
+        }
+    }
+
+    private static final class IntColumn extends Column implements Spliterator.OfInt {
+
+        IntColumn(OffHeapMemory memory, EndianType endianType, long offset, int stride, int size) {
+            super(memory, endianType, offset, stride, size);
+        }
+
+        IntColumn(Column parent, long index, long fence) {
+            super(parent, index, fence);
+        }
+
+        @Override
+        public boolean tryAdvance(IntConsumer action) {
+            if (index >= fence) return false;
+            action.accept(memory.getInt(offset + index++ * stride, endianType));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(IntConsumer action) {
+            long i = index;
+            index = fence;
+            for (long position = offset + i * stride; i < fence; ++i, position += stride) {
+                action.accept(memory.getInt(position, endianType));
+            }
+        }
+
+        @Override
+        public OfInt trySplit() {
+            long low = split();
+            return (low < 0) ? null : new IntColumn(this, low, index);
+        }
+    }
+
+    private static final class LongColumn extends Column implements Spliterator.OfLong {
+
+        LongColumn(OffHeapMemory memory, EndianType endianType, long offset, int stride, int size) {
+            super(memory, endianType, offset, stride, size);
+        }
+
+        LongColumn(Column parent, long index, long fence) {
+            super(parent, index, fence);
+        }
+
+        @Override
+        public boolean tryAdvance(LongConsumer action) {
+            if (index >= fence) return false;
+            action.accept(memory.getLong(offset + index++ * stride, endianType));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(LongConsumer action) {
+            long i = index;
+            index = fence;
+            for (long position = offset + i * stride; i < fence; ++i, position += stride) {
+                action.accept(memory.getLong(position, endianType));
+            }
+        }
+
+        @Override
+        public OfLong trySplit() {
+            long low = split();
+            return (low < 0) ? null : new LongColumn(this, low, index);
+        }
+    }
+
+    private static final class DoubleColumn extends Column implements Spliterator.OfDouble {
+
+        DoubleColumn(OffHeapMemory memory, EndianType endianType, long offset, int stride, int size) {
+            super(memory, endianType, offset, stride, size);
+        }
+
+        DoubleColumn(Column parent, long index, long fence) {
+            super(parent, index, fence);
+        }
+
+        @Override
+        public boolean tryAdvance(DoubleConsumer action) {
+            if (index >= fence) return false;
+            action.accept(memory.getDouble(offset + index++ * stride, endianType));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(DoubleConsumer action) {
+            long i = index;
+            index = fence;
+            for (long position = offset + i * stride; i < fence; ++i, position += stride) {
+                action.accept(memory.getDouble(position, endianType));
+            }
+        }
+
+        @Override
+        public OfDouble trySplit() {
+            long low = split();
+            return (low < 0) ? null : new DoubleColumn(this, low, index);
+        }
+    }
+    //</editor-fold>
+}
@@ -0,0 +1,185 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * Bounded cache of decoded strings keyed by their raw bytes and charset.
+ * Lookup hashes the byte range in place, so repeated strings are returned without decoding or copying.
+ * Entries are evicted with CLOCK (second chance) policy. Instances are not thread-safe.
+ */
+public final class StringCache {
+
+    public final static int DEFAULT_MAX_LENGTH = 256;
+
+    private final int capacity;
+    private final int maxLength;
+
+    /* Hash buckets holding slot + 1 of the chain head, 0 means empty */
+    private final int[] buckets;
+    private final int mask;
+
+    /* Slot entries */
+    private final byte[][] keys;
+    private final Charset[] charsets;
+    private final String[] values;
+    private final int[] hashes;
+    private final int[] next;
+    private final boolean[] referenced;
+
+    private int size = 0;
+    private int hand = 0;
+
+    private long hits = 0;
+    private long misses = 0;
+
+    public StringCache(int capacity, int maxLength) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException(String.format("Capacity '%d' must be positive.", capacity));
+        if (maxLength < 0)
+            throw new IllegalArgumentException(String.format("Max length '%d' is negative.", maxLength));
+        this.capacity = capacity;
+        this.maxLength = maxLength;
+
+        int tableSize = Integer.highestOneBit(Math.max(capacity * 2 - 1, 1)) << 1;
+        this.buckets = new int[tableSize];
+        this.mask = tableSize - 1;
+
+        this.keys = new byte[capacity][];
+        this.charsets = new Charset[capacity];
+        this.values = new String[capacity];
+        this.hashes = new int[capacity];
+        this.next = new int[capacity];
+        this.referenced = new boolean[capacity];
+    }
+
+    public StringCache(int capacity) {
+        this(capacity, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Returns string decoded from given byte range, reusing cached instance if the same bytes were decoded before.
+     * Ranges longer than max length are decoded without caching.
+     */
+    public String get(byte[] data, int offset, int length, Charset charset) {
+        if (length > maxLength) {
+            return new String(data, offset, length, charset);
+        }
+
+        int hash = hash(data, offset, length);
+        int bucket = hash & mask;
+        for (int slot = buckets[bucket] - 1; slot >= 0; slot = next[slot] - 1) {
+            if (hashes[slot] == hash && charsets[slot].equals(charset)
+                    && Arrays.equals(keys[slot], 0, keys[slot].length, data, offset, offset + length)) {
+                referenced[slot] = true;
+                ++hits;
+                return values[slot];
+            }
+        }
+
+        ++misses;
+        String value = new String(data, offset, length, charset);
+        int slot = (size < capacity) ? size++ : evict();
+        keys[slot] = Arrays.copyOfRange(data, offset, offset + length);
+        charsets[slot] = charset;
+        values[slot] = value;
+        hashes[slot] = hash;
+        referenced[slot] = false;
+        next[slot] = buckets[bucket];
+        buckets[bucket] = slot + 1;
+        return value;
+    }
+
+    /* Advances clock hand past referenced slots, clearing their bits, and unlinks the first unreferenced one. */
+    private int evict() {
+        while (referenced[hand]) {
+            referenced[hand] = false;
+            hand = (hand + 1) % capacity;
+        }
+        int slot = hand;
+        hand = (hand + 1) % capacity;
+
+        int bucket = hashes[slot] & mask;
+        if (buckets[bucket] == slot + 1) {
+            buckets[bucket] = next[slot];
+        } else {
+            int prev = buckets[bucket] - 1;
+            while (next[prev] != slot + 1) prev = next[prev] - 1;
+            next[prev] = next[slot];
+        }
+        return slot;
+    }
+
+    /* Hashes eight bytes at a time, tail bytes one by one. */
+    private static int hash(byte[] data, int offset, int length) {
+        long h = length;
+        int i = offset;
+        for (int end = offset + length - Long.BYTES; i <= end; i += Long.BYTES) {
+            h = (h ^ (long) ByteViews.LONG_LE.get(data, i)) * 0x9E3779B97F4A7C15L;
+        }
+        for (int end = offset + length; i < end; ++i) {
+            h = (h ^ data[i]) * 0x100000001B3L;
+        }
+        return (int) (h ^ (h >>> 32));
+    }
+
+    public void clear() {
+        Arrays.fill(buckets, 0);
+        Arrays.fill(keys, null);
+        Arrays.fill(charsets, null);
+        Arrays.fill(values, null);
+        Arrays.fill(referenced, false);
+        size = 0;
+        hand = 0;
+        hits = 0;
+        misses = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StringCache[size=%d, capacity=%d, hits=%d, misses=%d]", size, capacity, hits, misses);
+    }
+}
@@ -0,0 +1,236 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes strings straight into {@link OutputBuffer} without intermediate byte arrays.
+ * US-ASCII, ISO-8859-1, UTF-8 and UTF-16LE/BE are encoded by hand, other charsets go through cached {@link CharsetEncoder}.
+ * Unmappable characters are replaced with '?' like {@link String#getBytes(Charset)} does.
+ */
+final class StringEncoder {
+
+    private final OutputBuffer target;
+
+    private CharsetEncoder encoder;
+
+    StringEncoder(OutputBuffer target) {
+        this.target = target;
+    }
+
+    /**
+     * Writes string in given charset, followed by zero character if terminate is set.
+     */
+    void write(String str, Charset charset, boolean terminate) throws IOException {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            writeUtf8(str);
+        } else if (charset.equals(StandardCharsets.ISO_8859_1)) {
+            writeSingleByte(str, 0xff);
+        } else if (charset.equals(StandardCharsets.US_ASCII)) {
+            writeSingleByte(str, 0x7f);
+        } else if (charset.equals(StandardCharsets.UTF_16LE)) {
+            writeUtf16(str, false, true);
+            if (terminate) ByteViews.SHORT_LE.set(target.data, target.reserve(Short.BYTES), (short) 0);
+            return;
+        } else if (charset.equals(StandardCharsets.UTF_16BE)) {
+            writeUtf16(str, true, true);
+            if (terminate) ByteViews.SHORT_BE.set(target.data, target.reserve(Short.BYTES), (short) 0);
+            return;
+        } else {
+            writeEncoded(str, charset, terminate);
+            return;
+        }
+        if (terminate) target.write(0);
+    }
+
+    /**
+     * Returns number of bytes {@link #write} produces for the string without terminator,
+     * or -1 if charset has no fast path.
+     */
+    int encodedLength(String str, Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return utf8Length(str);
+        } else if (charset.equals(StandardCharsets.ISO_8859_1) || charset.equals(StandardCharsets.US_ASCII)) {
+            int n = str.length();
+            int length = n;
+            for (int i = 0; i < n - 1; ++i) {
+                // Surrogate pair is replaced with single '?'
+                if (Character.isHighSurrogate(str.charAt(i)) && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    --length;
+                    ++i;
+                }
+            }
+            return length;
+        } else if (charset.equals(StandardCharsets.UTF_16LE) || charset.equals(StandardCharsets.UTF_16BE)) {
+            return str.length() * Character.BYTES;
+        }
+        return -1;
+    }
+
+    private static int utf8Length(String str) {
+        int n = str.length();
+        int length = n;
+        for (int i = 0; i < n; ++i) {
+            char c = str.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                length += 1;
+            } else if (!Character.isSurrogate(c)) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(str.charAt(i + 1))) {
+                // Two chars encode to four bytes
+                length += 2;
+                ++i;
+            }
+        }
+        return length;
+    }
+
+    private void writeSingleByte(String str, int max) throws IOException {
+        int i = 0;
+        int n = str.length();
+        while (i < n) {
+            target.require(n - i, 1);
+            byte[] data = target.data;
+            int p = target.count;
+            for (int limit = data.length; i < n && p < limit; ) {
+                char c = str.charAt(i++);
+                if (c <= max) {
+                    data[p++] = (byte) c;
+                } else {
+                    // Surrogate pair stands for single unmappable character
+                    if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(str.charAt(i))) ++i;
+                    data[p++] = '?';
+                }
+            }
+            target.count = p;
+        }
+    }
+
+    private void writeUtf8(String str) throws IOException {
+        int i = 0;
+        int n = str.length();
+        while (i < n) {
+            target.require(n - i, 4);
+            byte[] data = target.data;
+            int p = target.count;
+            for (int limit = data.length - 4; i < n && p <= limit; ) {
+                char c = str.charAt(i++);
+                if (c < 0x80) {
+                    data[p++] = (byte) c;
+                } else if (c < 0x800) {
+                    data[p++] = (byte) (0xc0 | (c >> 6));
+                    data[p++] = (byte) (0x80 | (c & 0x3f));
+                } else if (!Character.isSurrogate(c)) {
+                    data[p++] = (byte) (0xe0 | (c >> 12));
+                    data[p++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                    data[p++] = (byte) (0x80 | (c & 0x3f));
+                } else if (Character.isHighSurrogate(c) && i < n && Character.isLowSurrogate(str.charAt(i))) {
+                    int cp = Character.toCodePoint(c, str.charAt(i++));
+                    data[p++] = (byte) (0xf0 | (cp >> 18));
+                    data[p++] = (byte) (0x80 | ((cp >> 12) & 0x3f));
+                    data[p++] = (byte) (0x80 | ((cp >> 6) & 0x3f));
+                    data[p++] = (byte) (0x80 | (cp & 0x3f));
+                } else {
+                    data[p++] = '?';
+                }
+            }
+            target.count = p;
+        }
+    }
+
+    /**
+     * Writes UTF-16 code units without byte order mark.
+     * Unpaired surrogates are replaced with U+FFFD in strict mode and written as they are otherwise.
+     */
+    void writeUtf16(String str, boolean bigEndian, boolean strict) throws IOException {
+        int i = 0;
+        int n = str.length();
+        while (i < n) {
+            int count = target.require(n - i, Character.BYTES);
+            byte[] data = target.data;
+            int p = target.count;
+            for (int end = i + count; i < end; ++i, p += Character.BYTES) {
+                char c = str.charAt(i);
+                if (strict && Character.isSurrogate(c) && !isPaired(str, i)) c = '\uFFFD';
+                // Separate calls keep each handle constant for JIT
+                if (bigEndian) ByteViews.SHORT_BE.set(data, p, (short) c);
+                else ByteViews.SHORT_LE.set(data, p, (short) c);
+            }
+            target.count = p;
+        }
+    }
+
+    private static boolean isPaired(String str, int i) {
+        char c = str.charAt(i);
+        if (Character.isHighSurrogate(c)) return i + 1 < str.length() && Character.isLowSurrogate(str.charAt(i + 1));
+        return i > 0 && Character.isHighSurrogate(str.charAt(i - 1));
+    }
+
+    private void writeEncoded(String str, Charset charset, boolean terminate) throws IOException {
+        CharsetEncoder encoder = encoder(charset);
+        ByteBuffer out = ByteBuffer.wrap(target.data, target.count, target.data.length - target.count);
+        out = encode(encoder, CharBuffer.wrap(str), out, !terminate);
+        if (terminate) {
+            out = encode(encoder, CharBuffer.wrap("\0"), out, true);
+        }
+        while (encoder.flush(out).isOverflow()) {
+            out = drain(out, encoder);
+        }
+        target.count = out.position();
+    }
+
+    private ByteBuffer encode(CharsetEncoder encoder, CharBuffer in, ByteBuffer out, boolean endOfInput) throws IOException {
+        while (true) {
+            CoderResult result = encoder.encode(in, out, endOfInput);
+            if (!result.isOverflow()) return out;
+            out = drain(out, encoder);
+        }
+    }
+
+    /* Hands encoded bytes over to the buffer and wraps its free space again. */
+    private ByteBuffer drain(ByteBuffer out, CharsetEncoder encoder) throws IOException {
+        target.count = out.position();
+        int free = target.data.length - target.count;
+        target.require(1, Math.max((int) Math.ceil(encoder.maxBytesPerChar()) * 2, free + 1));
+        return ByteBuffer.wrap(target.data, target.count, target.data.length - target.count);
+    }
+
+    private CharsetEncoder encoder(Charset charset) {
+        if (encoder == null || !encoder.charset().equals(charset)) {
+            encoder = charset.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return encoder.reset();
+    }
+}
@@ -0,0 +1,98 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.codec;
+
+import local.tools.bin.NumberReader;
+import local.tools.bin.NumberWriter;
+
+import java.io.IOException;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+
+/**
+ * Class file template of codecs created by {@link StructCodecs}, never loaded directly.
+ * Each codec is a hidden class defined from these bytes with class data [type, size, reader, writer],
+ * so method handles are static final constants which the JIT compiler inlines into read and write.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class StructCodecTemplate implements StructCodec {
+
+    private static final Class<?> TYPE;
+    private static final int SIZE;
+
+    /* (NumberReader)Object */
+    private static final MethodHandle READER;
+    /* (NumberWriter, Object)void */
+    private static final MethodHandle WRITER;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            TYPE = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, Class.class, 0);
+            SIZE = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, Integer.class, 1);
+            READER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 2);
+            WRITER = MethodHandles.classDataAt(lookup, ConstantDescs.DEFAULT_NAME, MethodHandle.class, 3);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Class type() {
+        return TYPE;
+    }
+
+    @Override
+    public int size() {
+        return SIZE;
+    }
+
+    @Override
+    public Object read(NumberReader reader) throws IOException {
+        try {
+            return (Object) READER.invokeExact(reader);
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public void write(NumberWriter writer, Object value) throws IOException {
+        try {
+            WRITER.invokeExact(writer, value);
+        } catch (IOException | RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IOException(e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("StructCodec[%s, %d bytes]", TYPE.getName(), SIZE);
+    }
+}
@@ -0,0 +1,329 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.codec;
+
+import local.tools.bin.EndianType;
+import local.tools.bin.NumberReader;
+import local.tools.bin.NumberWriter;
+import local.tools.primitives.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Creates {@link StructCodec} for records and {@link BinaryStruct} classes.
+ * Each codec is a single method handle tree composed once per type: fields are decoded and encoded by direct calls
+ * of {@link NumberReader} and {@link NumberWriter} methods, without reflection at decode time.
+ * The tree is held in static final fields of a hidden class per codec, see {@code StructCodecTemplate}.
+ * Supported field types are Java primitives, types from {@code local.tools.primitives} and nested structures.
+ */
+public final class StructCodecs {
+
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final Map<Class<?>, FieldType> FIELD_TYPES = new HashMap<>();
+
+    private static final MethodHandle READER_WITH_ENDIAN;
+    private static final MethodHandle WRITER_WITH_ENDIAN;
+
+    /* Class file bytes of StructCodecTemplate */
+    private static final byte[] TEMPLATE;
+
+    static {
+        try {
+            TEMPLATE = template();
+            READER_WITH_ENDIAN = LOOKUP.findVirtual(NumberReader.class, "withEndianType", methodType(NumberReader.class, EndianType.class));
+            WRITER_WITH_ENDIAN = LOOKUP.findVirtual(NumberWriter.class, "withEndianType", methodType(NumberWriter.class, EndianType.class));
+
+            register(byte.class, Byte.BYTES, "readByte", "writeByte", int.class);
+            register(short.class, Short.BYTES, "readShort", "writeShort", int.class);
+            register(int.class, Integer.BYTES, "readInt", "writeInt", int.class);
+            register(long.class, Long.BYTES, "readLong", "writeLong", long.class);
+            register(float.class, Float.BYTES, "readFloat", "writeFloat", float.class);
+            register(double.class, Double.BYTES, "readDouble", "writeDouble", double.class);
+            register(Int8.class, Byte.BYTES, "readInt8", "writeInt8", Int8.class);
+            register(Int16.class, Short.BYTES, "readInt16", "writeInt16", Int16.class);
+            register(Int32.class, Integer.BYTES, "readInt32", "writeInt32", Int32.class);
+            register(Int64.class, Long.BYTES, "readInt64", "writeInt64", Int64.class);
+            register(UInt8.class, Byte.BYTES, "readUInt8", "writeUInt8", UInt8.class);
+            register(UInt16.class, Short.BYTES, "readUInt16", "writeUInt16", UInt16.class);
+            register(UInt32.class, Integer.BYTES, "readUInt32", "writeUInt32", UInt32.class);
+            register(UInt64.class, Long.BYTES, "readUInt64", "writeUInt64", UInt64.class);
+            register(Float32.class, Float.BYTES, "readFloat32", "writeFloat32", Float32.class);
+            register(Float64.class, Double.BYTES, "readFloat64", "writeFloat64", Float64.class);
+
+            // Not part of number readers and writers
+            FIELD_TYPES.put(boolean.class, new FieldType(Byte.BYTES,
+                    LOOKUP.findStatic(StructCodecs.class, "readBoolean", methodType(boolean.class, NumberReader.class)),
+                    LOOKUP.findStatic(StructCodecs.class, "writeBoolean", methodType(void.class, NumberWriter.class, boolean.class))));
+            FIELD_TYPES.put(char.class, new FieldType(Character.BYTES,
+                    LOOKUP.findStatic(StructCodecs.class, "readChar", methodType(char.class, NumberReader.class)),
+                    LOOKUP.findStatic(StructCodecs.class, "writeChar", methodType(void.class, NumberWriter.class, char.class))));
+        } catch (ReflectiveOperationException | IOException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static final ClassValue<StructCodec<?>> CACHE = new ClassValue<>() {
+        @Override
+        protected StructCodec<?> computeValue(Class<?> type) {
+            return create(type, LOOKUP);
+        }
+    };
+
+    private StructCodecs() {
+    }
+
+    /**
+     * Returns cached codec of given type. Members are accessed through private lookup in the type,
+     * so types from named modules must be opened to this module or passed with own lookup.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> StructCodec<T> of(Class<T> type) {
+        return (StructCodec<T>) CACHE.get(type);
+    }
+
+    /**
+     * Creates codec of given type, members are accessed through private lookup in the type obtained with given lookup.
+     */
+    public static <T> StructCodec<T> of(Class<T> type, Lookup lookup) {
+        return create(type, lookup);
+    }
+
+    /**
+     * Returns true if type can be encoded as nested structure.
+     */
+    public static boolean isStruct(Class<?> type) {
+        return type.isRecord() || type.isAnnotationPresent(BinaryStruct.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> StructCodec<T> create(Class<T> type, Lookup lookup) {
+        Struct struct = new Builder(lookup).build(type);
+        List<Object> data = List.of(type, struct.size,
+                struct.reader.asType(methodType(Object.class, NumberReader.class)),
+                struct.writer.asType(methodType(void.class, NumberWriter.class, Object.class)));
+        try {
+            // Hidden class is unloaded together with the codec
+            Lookup codec = LOOKUP.defineHiddenClassWithClassData(TEMPLATE, data, true);
+            return (StructCodec<T>) codec.findConstructor(codec.lookupClass(), methodType(void.class)).invoke();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(String.format("Codec of '%s' cannot be defined.", type.getName()), e);
+        }
+    }
+
+    private static byte[] template() throws IOException {
+        try (InputStream in = StructCodecs.class.getResourceAsStream("StructCodecTemplate.class")) {
+            if (in == null) throw new IOException("Class file of StructCodecTemplate is not found.");
+            return in.readAllBytes();
+        }
+    }
+
+    private static void register(Class<?> type, int size, String read, String write, Class<?> writeType) throws ReflectiveOperationException {
+        MethodHandle reader = LOOKUP.findVirtual(NumberReader.class, read, methodType(type));
+        MethodHandle writer = LOOKUP.findVirtual(NumberWriter.class, write, methodType(void.class, writeType))
+                .asType(methodType(void.class, NumberWriter.class, type));
+        FIELD_TYPES.put(type, new FieldType(size, reader, writer));
+    }
+
+    //<editor-fold defaultstate="collapsed" desc="Field Helpers">
+    private static boolean readBoolean(NumberReader reader) throws IOException {
+        return reader.readByte() != 0;
+    }
+
+    private static void writeBoolean(NumberWriter writer, boolean v) throws IOException {
+        writer.writeByte(v ? 1 : 0);
+    }
+
+    private static char readChar(NumberReader reader) throws IOException {
+        return (char) reader.readShort();
+    }
+
+    private static void writeChar(NumberWriter writer, char v) throws IOException {
+        writer.writeShort(v);
+    }
+    //</editor-fold>
+
+    /* Reader (NumberReader)A and writer (NumberWriter, A)void of one value */
+    private static final class FieldType {
+
+        final int size;
+        final MethodHandle reader;
+        final MethodHandle writer;
+
+        FieldType(int size, MethodHandle reader, MethodHandle writer) {
+            this.size = size;
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
+
+    /* Reader (NumberReader)T and writer (NumberWriter, T)void of whole structure */
+    private static final class Struct {
+
+        final int size;
+        final MethodHandle reader;
+        final MethodHandle writer;
+
+        Struct(int size, MethodHandle reader, MethodHandle writer) {
+            this.size = size;
+            this.reader = reader;
+            this.writer = writer;
+        }
+    }
+
+    private static final class Builder {
+
+        private final Lookup lookup;
+        private final Set<Class<?>> building = new HashSet<>();
+
+        Builder(Lookup lookup) {
+            this.lookup = lookup;
+        }
+
+        Struct build(Class<?> type) {
+            if (!building.add(type))
+                throw new IllegalArgumentException(String.format("Structure '%s' contains itself.", type.getName()));
+            try {
+                Lookup access = MethodHandles.privateLookupIn(type, lookup);
+                Endian endian = type.getAnnotation(Endian.class);
+                EndianType structEndian = (endian != null) ? endian.value() : null;
+
+                if (type.isRecord()) return buildRecord(type, access, structEndian);
+                if (type.isAnnotationPresent(BinaryStruct.class)) return buildClass(type, access, structEndian);
+                throw new IllegalArgumentException(String.format("Type '%s' is neither record nor annotated with @BinaryStruct.", type.getName()));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException(String.format("Structure '%s' is not accessible: %s", type.getName(), e.getMessage()), e);
+            } finally {
+                building.remove(type);
+            }
+        }
+
+        private Struct buildRecord(Class<?> type, Lookup access, EndianType structEndian) throws ReflectiveOperationException {
+            RecordComponent[] components = type.getRecordComponents();
+            Class<?>[] types = new Class<?>[components.length];
+            FieldType[] fields = new FieldType[components.length];
+            MethodHandle[] getters = new MethodHandle[components.length];
+            for (int i = 0; i < components.length; ++i) {
+                RecordComponent component = components[i];
+                Endian endian = component.getAnnotation(Endian.class);
+                types[i] = component.getType();
+                fields[i] = field(type, component.getName(), types[i], (endian != null) ? endian.value() : structEndian);
+                getters[i] = access.unreflect(component.getAccessor());
+            }
+
+            // Folds run outermost first, so components are read in declaration order: (A0..An-1, R)T -> (R)T
+            MethodHandle reader = MethodHandles.dropArguments(
+                    access.findConstructor(type, methodType(void.class, types)), types.length, NumberReader.class);
+            for (int i = fields.length - 1; i >= 0; --i) {
+                reader = MethodHandles.foldArguments(reader, i, fields[i].reader);
+            }
+            return new Struct(size(fields), reader, writer(type, fields, getters));
+        }
+
+        private Struct buildClass(Class<?> type, Lookup access, EndianType structEndian) throws ReflectiveOperationException {
+            List<Field> declared = new ArrayList<>();
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(BinaryField.class)) continue;
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers()))
+                    throw new IllegalArgumentException(String.format("Field '%s' of '%s' must not be static or final.", field.getName(), type.getName()));
+                declared.add(field);
+            }
+            declared.sort(Comparator.comparingInt(field -> field.getAnnotation(BinaryField.class).order()));
+            for (int i = 1; i < declared.size(); ++i) {
+                if (declared.get(i - 1).getAnnotation(BinaryField.class).order() == declared.get(i).getAnnotation(BinaryField.class).order())
+                    throw new IllegalArgumentException(String.format("Fields '%s' and '%s' of '%s' have the same order.",
+                            declared.get(i - 1).getName(), declared.get(i).getName(), type.getName()));
+            }
+
+            FieldType[] fields = new FieldType[declared.size()];
+            MethodHandle[] getters = new MethodHandle[fields.length];
+            MethodHandle[] setters = new MethodHandle[fields.length];
+            for (int i = 0; i < fields.length; ++i) {
+                Field field = declared.get(i);
+                Endian endian = field.getAnnotation(Endian.class);
+                fields[i] = field(type, field.getName(), field.getType(), (endian != null) ? endian.value() : structEndian);
+                getters[i] = access.unreflectGetter(field);
+                setters[i] = access.unreflectSetter(field);
+            }
+
+            // (T, R)T chain of setters, folds run outermost first, then instance is created: (R)T
+            MethodHandle reader = MethodHandles.dropArguments(MethodHandles.identity(type), 1, NumberReader.class);
+            for (int i = fields.length - 1; i >= 0; --i) {
+                reader = MethodHandles.foldArguments(reader, MethodHandles.filterArguments(setters[i], 1, fields[i].reader));
+            }
+            reader = MethodHandles.foldArguments(reader, access.findConstructor(type, methodType(void.class)));
+            return new Struct(size(fields), reader, writer(type, fields, getters));
+        }
+
+        /* (W, T)void chain of field writers fed by getters, folds run outermost first */
+        private MethodHandle writer(Class<?> type, FieldType[] fields, MethodHandle[] getters) {
+            MethodHandle writer = MethodHandles.empty(methodType(void.class, NumberWriter.class, type));
+            for (int i = fields.length - 1; i >= 0; --i) {
+                writer = MethodHandles.foldArguments(writer, MethodHandles.filterArguments(fields[i].writer, 1, getters[i]));
+            }
+            return writer;
+        }
+
+        private FieldType field(Class<?> owner, String name, Class<?> type, EndianType endian) {
+            FieldType field;
+            if (FIELD_TYPES.containsKey(type)) {
+                field = FIELD_TYPES.get(type);
+            } else if (isStruct(type)) {
+                Struct struct = build(type);
+                field = new FieldType(struct.size, struct.reader, struct.writer);
+            } else {
+                throw new IllegalArgumentException(String.format("Field '%s' of '%s' has unsupported type '%s'.", name, owner.getName(), type.getName()));
+            }
+            if (endian == null) return field;
+
+            MethodHandle reader = MethodHandles.filterArguments(field.reader, 0, MethodHandles.insertArguments(READER_WITH_ENDIAN, 1, endian));
+            MethodHandle writer = MethodHandles.filterArguments(field.writer, 0, MethodHandles.insertArguments(WRITER_WITH_ENDIAN, 1, endian));
+            return new FieldType(field.size, reader, writer);
+        }
+
+        private static int size(FieldType[] fields) {
+            int size = 0;
+            for (FieldType field : fields) size += field.size;
+            return size;
+        }
+    }
+}
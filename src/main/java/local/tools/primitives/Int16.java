@@ -28,6 +28,8 @@ package local.tools.primitives;
  * Alias: Short
  * Size: 16 bits (2 byte)
  * Range: -32,768 to 32,767
+ * Instances returned by {@link #valueOf(short)} are cached in range set by system properties
+ * local.tools.primitives.Int16.cache.low and local.tools.primitives.Int16.cache.high (-128 to 127 by default).
  */
 public class Int16 extends Number {
 
@@ -36,6 +38,15 @@ public class Int16 extends Number {
 
     private final short value;
 
+    public static Int16 valueOf(short value) {
+        if (Cache.LOW <= value && value <= Cache.HIGH) return Cache.VALUES[value - Cache.LOW];
+        return new Int16(value);
+    }
+
+    public static Int16 valueOf(int value) {
+        return valueOf((short) value);
+    }
+
     public Int16(int value) {
         this.value = (short) value;
     }
@@ -123,4 +134,17 @@ public class Int16 extends Number {
     public String toString() {
         return String.valueOf(value);
     }
+
+    private static final class Cache {
+
+        static final int LOW = Math.max(MIN_VALUE, Integer.getInteger(Int16.class.getName() + ".cache.low", -128));
+        static final int HIGH = Math.min(MAX_VALUE, Integer.getInteger(Int16.class.getName() + ".cache.high", 127));
+        static final Int16[] VALUES = new Int16[Math.max(HIGH - LOW + 1, 0)];
+
+        static {
+            for (int i = 0; i < VALUES.length; ++i) {
+                VALUES[i] = new Int16(LOW + i);
+            }
+        }
+    }
 }
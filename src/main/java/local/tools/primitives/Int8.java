@@ -34,8 +34,25 @@ public class Int8 extends Number {
     public static final byte MIN_VALUE = Byte.MIN_VALUE;
     public static final byte MAX_VALUE = Byte.MAX_VALUE;
 
+    /* All 256 possible instances */
+    private static final Int8[] CACHE = new Int8[MAX_VALUE - MIN_VALUE + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; ++i) {
+            CACHE[i] = new Int8(MIN_VALUE + i);
+        }
+    }
+
     private final byte value;
 
+    public static Int8 valueOf(byte value) {
+        return CACHE[value - MIN_VALUE];
+    }
+
+    public static Int8 valueOf(int value) {
+        return valueOf((byte) value);
+    }
+
     public static byte[] getBytes(byte value, byte[] output) {
         output[0] = value;
         return output;
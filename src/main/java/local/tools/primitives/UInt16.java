@@ -28,6 +28,8 @@ package local.tools.primitives;
  * Alias: UShort
  * Size: 16 bits (2 bytes)
  * Range: 0 to 65,535
+ * Instances returned by {@link #valueOf(int)} are cached in range set by system properties
+ * local.tools.primitives.UInt16.cache.low and local.tools.primitives.UInt16.cache.high (0 to 255 by default).
  */
 public class UInt16 extends Number {
 
@@ -36,6 +38,11 @@ public class UInt16 extends Number {
 
     private final int value;
 
+    public static UInt16 valueOf(int value) {
+        if (Cache.LOW <= value && value <= Cache.HIGH) return Cache.VALUES[value - Cache.LOW];
+        return new UInt16(value);
+    }
+
     public UInt16(int value) {
         if (!withinRange(value))
             throw new IllegalArgumentException(String.format("Value '%d' is out of 2-Byte Unsigned Integer range.", value));
@@ -114,7 +121,20 @@ public class UInt16 extends Number {
         return String.valueOf(value);
     }
 
-    private boolean withinRange(int value) {
+    static boolean withinRange(int value) {
         return MIN_VALUE <= value && value <= MAX_VALUE;
     }
+
+    private static final class Cache {
+
+        static final int LOW = Math.max(MIN_VALUE, Integer.getInteger(UInt16.class.getName() + ".cache.low", 0));
+        static final int HIGH = Math.min(MAX_VALUE, Integer.getInteger(UInt16.class.getName() + ".cache.high", 255));
+        static final UInt16[] VALUES = new UInt16[Math.max(HIGH - LOW + 1, 0)];
+
+        static {
+            for (int i = 0; i < VALUES.length; ++i) {
+                VALUES[i] = new UInt16(LOW + i);
+            }
+        }
+    }
 }
@@ -0,0 +1,95 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.primitives;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fixed-size array of {@link UInt16} values packed in {@code short[]} (16 bits (2 bytes) per element)
+ * Avoids object header per element, values are boxed only by {@link #getUInt16(int)} and {@link #asList()}.
+ */
+public final class UInt16Array {
+
+    private final short[] data;
+
+    public UInt16Array(int length) {
+        this(new short[length]);
+    }
+
+    /**
+     * Wraps given array without copying, changes are visible both ways.
+     */
+    public UInt16Array(short[] data) {
+        this.data = Objects.requireNonNull(data);
+    }
+
+    public int length() {
+        return data.length;
+    }
+
+    public short[] array() {
+        return data;
+    }
+
+    public int get(int index) {
+        return Short.toUnsignedInt(data[index]);
+    }
+
+    public void set(int index, int value) {
+        if (!UInt16.withinRange(value))
+            throw new IllegalArgumentException(String.format("Value '%d' is out of 2-Byte Unsigned Integer range.", value));
+        data[index] = (short) value;
+    }
+
+    public UInt16 getUInt16(int index) {
+        return UInt16.valueOf(get(index));
+    }
+
+    public void setUInt16(int index, UInt16 value) {
+        set(index, value.intValue());
+    }
+
+    public List<UInt16> asList() {
+        return new AbstractList<>() {
+            @Override
+            public UInt16 get(int index) {
+                return getUInt16(index);
+            }
+
+            @Override
+            public UInt16 set(int index, UInt16 value) {
+                UInt16 previous = getUInt16(index);
+                setUInt16(index, value);
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return data.length;
+            }
+        };
+    }
+}
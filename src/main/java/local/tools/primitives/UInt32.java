@@ -120,7 +120,7 @@ public final class UInt32 extends Number {
         return String.valueOf(value);
     }
 
-    private static boolean withinRange(long value) {
+    static boolean withinRange(long value) {
         return MIN_VALUE <= value && value <= MAX_VALUE;
     }
 }
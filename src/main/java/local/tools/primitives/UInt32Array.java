@@ -0,0 +1,95 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.primitives;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fixed-size array of {@link UInt32} values packed in {@code int[]} (32 bits (4 bytes) per element)
+ * Avoids object header per element, values are boxed only by {@link #getUInt32(int)} and {@link #asList()}.
+ */
+public final class UInt32Array {
+
+    private final int[] data;
+
+    public UInt32Array(int length) {
+        this(new int[length]);
+    }
+
+    /**
+     * Wraps given array without copying, changes are visible both ways.
+     */
+    public UInt32Array(int[] data) {
+        this.data = Objects.requireNonNull(data);
+    }
+
+    public int length() {
+        return data.length;
+    }
+
+    public int[] array() {
+        return data;
+    }
+
+    public long get(int index) {
+        return Integer.toUnsignedLong(data[index]);
+    }
+
+    public void set(int index, long value) {
+        if (!UInt32.withinRange(value))
+            throw new IllegalArgumentException(String.format("Value '%d' is out of 4-Byte Unsigned Integer range.", value));
+        data[index] = (int) value;
+    }
+
+    public UInt32 getUInt32(int index) {
+        return new UInt32(get(index));
+    }
+
+    public void setUInt32(int index, UInt32 value) {
+        set(index, value.longValue());
+    }
+
+    public List<UInt32> asList() {
+        return new AbstractList<>() {
+            @Override
+            public UInt32 get(int index) {
+                return getUInt32(index);
+            }
+
+            @Override
+            public UInt32 set(int index, UInt32 value) {
+                UInt32 previous = getUInt32(index);
+                setUInt32(index, value);
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return data.length;
+            }
+        };
+    }
+}
@@ -24,25 +24,32 @@
 package local.tools.primitives;
 
 import java.math.BigInteger;
-import java.util.Objects;
 
 /**
  * Type represents 64 bits (8 bytes) unsigned integer type
  * Alias: ULong
  * Size: 64 bits (8 bytes)
  * Range: 0 to 18,446,744,073,709,551,615
+ * Value is stored as raw 64 bits, {@link BigInteger} is only produced on demand by {@link #bigIntegerValue()}.
  */
-public class UInt64 extends Number {
+public class UInt64 extends Number implements Comparable<UInt64> {
 
     public static final BigInteger MIN_VALUE = BigInteger.ZERO;
     public static final BigInteger MAX_VALUE = new BigInteger("18446744073709551615");
 
-    private final BigInteger value;
+    private final long value;
+
+    /**
+     * Creates value from raw 64 bits, negative numbers stand for values above {@link Long#MAX_VALUE}.
+     */
+    public UInt64(long value) {
+        this.value = value;
+    }
 
     public UInt64(BigInteger value) {
         if (!withinRange(value))
             throw new IllegalArgumentException(String.format("Value '%s' is out of 8-Byte Unsigned Integer range.", value));
-        this.value = value;
+        this.value = value.longValue();
     }
 
     public UInt64(int a, int b, int c, int d, int e, int f, int g, int h) {
@@ -54,50 +61,68 @@ public class UInt64 extends Number {
     }
 
     public UInt64(byte a, byte b, byte c, byte d, byte e, byte f, byte g, byte h) {
-        value = new BigInteger(new byte[]{0 /*1st byte - positive sign*/, a, b, c, d, e, f, g, h});
+        this.value = Int64.packBytes(a, b, c, d, e, f, g, h);
     }
 
     public static byte[] getBytes(BigInteger value, byte[] output) {
-        byte[] bytes = value.toByteArray();
-        for (int i = 7, j = bytes.length - 1; i >= 0 && j >= 0; --i, --j) {
-            output[i] = bytes[j];
-        }
-        return output;
+        return getBytes(value.longValue(), output);
+    }
+
+    public static byte[] getBytes(long value, byte[] output) {
+        return Int64.getBytes(value, output);
     }
 
     public byte[] getBytes() {
-        byte[] bytes = value.toByteArray();
-        byte[] output = new byte[8];
-        for (int i = 7, j = bytes.length - 1; i >= 0 && j >= 0; --i, --j) {
-            output[i] = bytes[j];
-        }
-        return output;
+        return getBytes(value, new byte[Long.BYTES]);
+    }
+
+    public BigInteger bigIntegerValue() {
+        return BigInteger.valueOf(value).and(MAX_VALUE);
+    }
+
+    public UInt64 divide(UInt64 divisor) {
+        return new UInt64(Long.divideUnsigned(value, divisor.value));
+    }
+
+    public UInt64 remainder(UInt64 divisor) {
+        return new UInt64(Long.remainderUnsigned(value, divisor.value));
     }
 
     @Override
     public int intValue() {
-        return value.intValue();
+        return (int) value;
     }
 
+    /**
+     * Returns raw 64 bits of the value.
+     */
     @Override
     public long longValue() {
-        return value.longValue();
+        return value;
     }
 
     @Override
     public float floatValue() {
-        return value.floatValue();
+        if (value >= 0) return value;
+        // Halve keeping the lowest bit for correct rounding, then double back
+        return (float) ((value >>> 1) | (value & 1)) * 2.0f;
     }
 
     @Override
     public double doubleValue() {
-        return value.doubleValue();
+        if (value >= 0) return value;
+        return (double) ((value >>> 1) | (value & 1)) * 2.0;
+    }
+
+    @Override
+    public int compareTo(UInt64 other) {
+        return Long.compareUnsigned(this.value, other.value);
     }
 
     @Override
     public int hashCode() {
         int hash = 7;
-        hash = 79 * hash + Objects.hashCode(this.value);
+        hash = 79 * hash + Long.hashCode(this.value);
         return hash;
     }
 
@@ -113,7 +138,7 @@ public class UInt64 extends Number {
             return false;
         }
         final UInt64 other = (UInt64) obj;
-        if (!Objects.equals(this.value, other.value)) {
+        if (this.value != other.value) {
             return false;
         }
         return true;
@@ -121,7 +146,7 @@ public class UInt64 extends Number {
 
     @Override
     public String toString() {
-        return value.toString();
+        return Long.toUnsignedString(value);
     }
 
     private static boolean withinRange(BigInteger value) {
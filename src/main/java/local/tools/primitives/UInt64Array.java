@@ -0,0 +1,94 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.primitives;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fixed-size array of {@link UInt64} values packed in {@code long[]} (64 bits (8 bytes) per element)
+ * Avoids object header per element, values are boxed only by {@link #getUInt64(int)} and {@link #asList()}.
+ * Values are exchanged as raw 64 bits, negative numbers stand for values above {@link Long#MAX_VALUE}.
+ */
+public final class UInt64Array {
+
+    private final long[] data;
+
+    public UInt64Array(int length) {
+        this(new long[length]);
+    }
+
+    /**
+     * Wraps given array without copying, changes are visible both ways.
+     */
+    public UInt64Array(long[] data) {
+        this.data = Objects.requireNonNull(data);
+    }
+
+    public int length() {
+        return data.length;
+    }
+
+    public long[] array() {
+        return data;
+    }
+
+    public long get(int index) {
+        return data[index];
+    }
+
+    public void set(int index, long value) {
+        data[index] = value;
+    }
+
+    public UInt64 getUInt64(int index) {
+        return new UInt64(get(index));
+    }
+
+    public void setUInt64(int index, UInt64 value) {
+        set(index, value.longValue());
+    }
+
+    public List<UInt64> asList() {
+        return new AbstractList<>() {
+            @Override
+            public UInt64 get(int index) {
+                return getUInt64(index);
+            }
+
+            @Override
+            public UInt64 set(int index, UInt64 value) {
+                UInt64 previous = getUInt64(index);
+                setUInt64(index, value);
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return data.length;
+            }
+        };
+    }
+}
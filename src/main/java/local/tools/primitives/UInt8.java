@@ -34,8 +34,27 @@ public class UInt8 extends Number {
     public static final int MIN_VALUE = 0;
     public static final int MAX_VALUE = 255;
 
+    /* All 256 possible instances */
+    private static final UInt8[] CACHE = new UInt8[MAX_VALUE - MIN_VALUE + 1];
+
+    static {
+        for (int i = 0; i < CACHE.length; ++i) {
+            CACHE[i] = new UInt8(MIN_VALUE + i);
+        }
+    }
+
     private final int value;
 
+    public static UInt8 valueOf(int value) {
+        if (!withinRange(value))
+            throw new IllegalArgumentException(String.format("Value '%d' is out of 1-Byte Unsigned Integer range.", value));
+        return CACHE[value];
+    }
+
+    public static UInt8 valueOf(byte b) {
+        return CACHE[Byte.toUnsignedInt(b)];
+    }
+
     public UInt8(int value) {
         if (!withinRange(value))
             throw new IllegalArgumentException(String.format("Value '%d' is out of 1-Byte Unsigned Integer range.", value));
@@ -105,7 +124,7 @@ public class UInt8 extends Number {
         return String.valueOf(value);
     }
 
-    private boolean withinRange(int value) {
+    static boolean withinRange(int value) {
         return MIN_VALUE <= value && value <= MAX_VALUE;
     }
 }
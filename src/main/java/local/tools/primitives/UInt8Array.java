@@ -0,0 +1,95 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.primitives;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Fixed-size array of {@link UInt8} values packed in {@code byte[]} (8 bits (1 byte) per element)
+ * Avoids object header per element, values are boxed only by {@link #getUInt8(int)} and {@link #asList()}.
+ */
+public final class UInt8Array {
+
+    private final byte[] data;
+
+    public UInt8Array(int length) {
+        this(new byte[length]);
+    }
+
+    /**
+     * Wraps given array without copying, changes are visible both ways.
+     */
+    public UInt8Array(byte[] data) {
+        this.data = Objects.requireNonNull(data);
+    }
+
+    public int length() {
+        return data.length;
+    }
+
+    public byte[] array() {
+        return data;
+    }
+
+    public int get(int index) {
+        return Byte.toUnsignedInt(data[index]);
+    }
+
+    public void set(int index, int value) {
+        if (!UInt8.withinRange(value))
+            throw new IllegalArgumentException(String.format("Value '%d' is out of 1-Byte Unsigned Integer range.", value));
+        data[index] = (byte) value;
+    }
+
+    public UInt8 getUInt8(int index) {
+        return UInt8.valueOf(get(index));
+    }
+
+    public void setUInt8(int index, UInt8 value) {
+        set(index, value.intValue());
+    }
+
+    public List<UInt8> asList() {
+        return new AbstractList<>() {
+            @Override
+            public UInt8 get(int index) {
+                return getUInt8(index);
+            }
+
+            @Override
+            public UInt8 set(int index, UInt8 value) {
+                UInt8 previous = getUInt8(index);
+                setUInt8(index, value);
+                return previous;
+            }
+
+            @Override
+            public int size() {
+                return data.length;
+            }
+        };
+    }
+}
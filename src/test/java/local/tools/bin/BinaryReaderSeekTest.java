@@ -0,0 +1,177 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryReaderSeekTest {
+
+    private static final int SIZE = 1000;
+    private static final int BUFFER = 16;
+
+    private static byte[] data() {
+        byte[] data = new byte[SIZE];
+        for (int i = 0; i < SIZE; ++i) data[i] = (byte) (i * 31 + 7);
+        return data;
+    }
+
+    /* Plain stream returning few bytes per read, without mark and seek support */
+    private static InputStream stream() {
+        return new InputStream() {
+            private final InputStream in = new ByteArrayInputStream(data());
+
+            @Override
+            public int read() throws IOException {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return in.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    private static void assertReads(BinaryReader reader, int from, int count) throws IOException {
+        byte[] data = data();
+        assertEquals(from, reader.getPosition());
+        for (int i = from; i < from + count; ++i) {
+            assertEquals(data[i], reader.readByte(), "Byte at " + i);
+        }
+    }
+
+    @Test
+    void resetsToMarkBeyondCapacity() throws IOException {
+        BinaryReader reader = new BinaryReader(stream(), EndianType.LittleEndian, BUFFER);
+        assertFalse(reader.isSeekable());
+        assertTrue(reader.markSupported());
+
+        assertReads(reader, 0, 10);
+        reader.mark(500);
+        assertReads(reader, 10, 400);
+        reader.reset();
+        assertReads(reader, 10, 500);
+        reader.reset();
+        assertReads(reader, 10, 5);
+    }
+
+    @Test
+    void invalidatesMarkAfterReadLimit() throws IOException {
+        BinaryReader reader = new BinaryReader(stream(), EndianType.LittleEndian, BUFFER);
+        assertThrows(IOException.class, reader::reset);
+
+        reader.mark(4);
+        assertReads(reader, 0, 200);
+        assertThrows(IOException.class, reader::reset);
+        assertReads(reader, 200, 10);
+    }
+
+    @Test
+    void seeksWithinWindow() throws IOException {
+        BinaryReader reader = new BinaryReader(stream(), EndianType.LittleEndian, BUFFER);
+        reader.setWindowSize(64);
+
+        assertReads(reader, 0, 300);
+        reader.seek(236);
+        assertReads(reader, 236, 100);
+        reader.seek(500);
+        assertReads(reader, 500, 10);
+        reader.seek(446);
+        assertReads(reader, 446, 100);
+        assertThrows(IOException.class, () -> reader.seek(100));
+        assertThrows(EOFException.class, () -> reader.seek(SIZE + 1));
+    }
+
+    @Test
+    void rejectsSeekBackWithoutWindow() throws IOException {
+        BinaryReader reader = new BinaryReader(stream(), EndianType.LittleEndian, BUFFER);
+        reader.seek(100);
+        assertReads(reader, 100, 100);
+        assertThrows(IOException.class, () -> reader.seek(50));
+        assertThrows(IOException.class, () -> reader.seek(-1));
+    }
+
+    @Test
+    void seeksAnywhereInFile(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("data.bin"), data());
+        try (BinaryReader reader = new BinaryReader(file.toString(), EndianType.LittleEndian, BUFFER)) {
+            assertTrue(reader.isSeekable());
+            assertReads(reader, 0, 500);
+            reader.seek(3);
+            assertReads(reader, 3, 10);
+            reader.mark(0);
+            reader.seek(900);
+            assertReads(reader, 900, 100);
+            assertFalse(reader.hasRemaining());
+            reader.reset();
+            assertReads(reader, 13, 50);
+        }
+    }
+
+    @Test
+    void seeksAnywhereInChannel(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("data.bin"), data());
+        try (SeekableByteChannel channel = Files.newByteChannel(file)) {
+            BinaryReader reader = new BinaryReader(channel, EndianType.LittleEndian, BUFFER);
+            assertTrue(reader.isSeekable());
+            reader.seek(700);
+            assertReads(reader, 700, 100);
+            reader.seek(20);
+            assertReads(reader, 20, 10);
+        }
+    }
+
+    @Test
+    void seeksRelativeToStreamOrigin(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("data.bin"), data());
+        try (FileInputStream in = new FileInputStream(file.toFile())) {
+            assertEquals(100, in.skip(100));
+            BinaryReader reader = new BinaryReader(in, EndianType.LittleEndian, BUFFER);
+            byte[] data = data();
+
+            // Positions count from where the stream was when the reader was created
+            assertEquals(0, reader.getPosition());
+            assertEquals(data[100], reader.readByte());
+            reader.seek(400);
+            assertEquals(data[500], reader.readByte());
+            reader.seek(0);
+            assertEquals(data[100], reader.readByte());
+        }
+    }
+}
@@ -0,0 +1,131 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BitReaderWriterTest {
+
+    private static final int FIELDS = 500;
+
+    /* Field widths cycle through 1..64 in varying order, so every width starts at every bit offset */
+    private static int width(int i) {
+        return (i * 37) % 64 + 1;
+    }
+
+    private static long mask(long value, int n) {
+        return value & (-1L >>> (Long.SIZE - n));
+    }
+
+    private static byte[] writeFields(BitOrder bitOrder, long seed) throws IOException {
+        Random random = new Random(seed);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryWriter target = new BinaryWriter(bytes, EndianType.LittleEndian, 8);
+        BitWriter writer = new BitWriter(target, bitOrder);
+        for (int i = 0; i < FIELDS; ++i) {
+            writer.writeBits(random.nextLong(), width(i));
+        }
+        writer.flush();
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void roundTripsAllWidths() throws IOException {
+        for (BitOrder bitOrder : BitOrder.values()) {
+            byte[] data = writeFields(bitOrder, 1);
+            BitReader reader = new BitReader(new BinaryReader(new ByteArrayInputStream(data), EndianType.LittleEndian, 8), bitOrder);
+            Random random = new Random(1);
+            for (int i = 0; i < FIELDS; ++i) {
+                int n = width(i);
+                assertEquals(mask(random.nextLong(), n), reader.readBits(n), bitOrder + " field " + i + " of " + n + " bits");
+            }
+        }
+    }
+
+    @Test
+    void matchesBitByBitEncoding() throws IOException {
+        for (BitOrder bitOrder : BitOrder.values()) {
+            Random random = new Random(1);
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BitWriter writer = new BitWriter(new BinaryWriter(bytes, EndianType.LittleEndian), bitOrder);
+            for (int i = 0; i < FIELDS; ++i) {
+                int n = width(i);
+                long value = random.nextLong();
+                // MsbFirst fields start with their highest bit, LsbFirst fields with their lowest
+                for (int b = 0; b < n; ++b) {
+                    int bit = (bitOrder == BitOrder.MsbFirst) ? n - 1 - b : b;
+                    writer.writeBit(((value >>> bit) & 1) != 0);
+                }
+            }
+            writer.flush();
+            assertArrayEquals(bytes.toByteArray(), writeFields(bitOrder, 1), bitOrder.name());
+        }
+    }
+
+    @Test
+    void packsBitsInOrder() throws IOException {
+        ByteArrayOutputStream msb = new ByteArrayOutputStream();
+        BitWriter writer = new BitWriter(new BinaryWriter(msb, EndianType.LittleEndian), BitOrder.MsbFirst);
+        writer.writeBits(0b101, 3);
+        assertEquals(5, writer.alignToByte());
+        writer.writeBits(0xABC, 12);
+        writer.flush();
+        assertArrayEquals(new byte[]{(byte) 0xA0, (byte) 0xAB, (byte) 0xC0}, msb.toByteArray());
+
+        ByteArrayOutputStream lsb = new ByteArrayOutputStream();
+        writer = new BitWriter(new BinaryWriter(lsb, EndianType.LittleEndian), BitOrder.LsbFirst);
+        writer.writeBits(0b101, 3);
+        writer.writeBits(0x1F, 5);
+        writer.writeBits(0xABC, 12);
+        writer.flush();
+        assertArrayEquals(new byte[]{(byte) 0xFD, (byte) 0xBC, 0x0A}, lsb.toByteArray());
+    }
+
+    @Test
+    void extendsSign() throws IOException {
+        for (BitOrder bitOrder : BitOrder.values()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            BitWriter writer = new BitWriter(new BinaryWriter(bytes, EndianType.LittleEndian), bitOrder);
+            for (int n = 1; n <= 64; ++n) {
+                writer.writeBits(-1, n);
+                writer.writeBits(n == 1 ? 0 : (1L << (n - 2)), n);
+            }
+            writer.flush();
+
+            BitReader reader = new BitReader(new BinaryReader(new ByteArrayInputStream(bytes.toByteArray())), bitOrder);
+            for (int n = 1; n <= 64; ++n) {
+                assertEquals(-1, reader.readSignedBits(n), bitOrder + " " + n);
+                assertEquals(n == 1 ? 0 : (1L << (n - 2)), reader.readSignedBits(n), bitOrder + " " + n);
+            }
+        }
+    }
+}
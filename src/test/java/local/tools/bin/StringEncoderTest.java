@@ -0,0 +1,89 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StringEncoderTest {
+
+    private static final List<Charset> CHARSETS = List.of(StandardCharsets.US_ASCII, StandardCharsets.ISO_8859_1,
+            StandardCharsets.UTF_8, StandardCharsets.UTF_16LE, StandardCharsets.UTF_16BE, Charset.forName("windows-1251"));
+
+    private static final List<String> STRINGS = List.of("", "a", "plain ascii text", "caf\u00e9 \u00fcber",
+            "\u043f\u0440\u0438\u0432\u0435\u0442", "\u20ac \u4e2d\u6587", "emoji \ud83d\ude00 pair", "lone \ud800 high",
+            "lone \udc00 low", "\ud83d", "x".repeat(100) + "\u00e9\u4e2d\ud83d\ude00".repeat(20));
+
+    /* Small buffers put every character at some buffer boundary */
+    private static byte[] encode(String str, Charset charset, boolean terminate, int capacity) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        OutputBuffer target = new OutputBuffer(bytes, capacity);
+        new StringEncoder(target).write(str, charset, terminate);
+        target.flush();
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void matchesGetBytes() throws IOException {
+        for (Charset charset : CHARSETS) {
+            for (String str : STRINGS) {
+                for (int capacity : new int[]{8, 9, 13, 64, 8192}) {
+                    assertArrayEquals(str.getBytes(charset), encode(str, charset, false, capacity),
+                            String.format("%s of '%s' with buffer %d", charset, str, capacity));
+                }
+            }
+        }
+    }
+
+    @Test
+    void appendsTerminator() throws IOException {
+        for (Charset charset : CHARSETS) {
+            byte[] zero = "\0".getBytes(charset);
+            byte[] encoded = encode("abc", charset, true, 8);
+            byte[] expected = new byte[3 * zero.length + zero.length];
+            System.arraycopy("abc".getBytes(charset), 0, expected, 0, 3 * zero.length);
+            assertArrayEquals(expected, encoded, charset.name());
+        }
+    }
+
+    @Test
+    void predictsEncodedLength() {
+        StringEncoder encoder = new StringEncoder(new OutputBuffer(new ByteArrayOutputStream(), 8));
+        for (Charset charset : CHARSETS) {
+            for (String str : STRINGS) {
+                int length = encoder.encodedLength(str, charset);
+                // Negative length means it is unknown without encoding
+                if (length >= 0) assertEquals(str.getBytes(charset).length, length, charset + " of '" + str + "'");
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.bin;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class VarIntTest {
+
+    private static final int[] INTS = {0, 1, 63, 64, 127, 128, 300, 16383, 16384, 2097151, 2097152,
+            268435455, 268435456, Integer.MAX_VALUE, Integer.MIN_VALUE, -1, -64, -65};
+    private static final long[] LONGS = {0, 1, 127, 128, 1L << 35, (1L << 56) - 1, 1L << 56, (1L << 63) - 1,
+            Long.MIN_VALUE, -1, -2, 1L << 62, -(1L << 62)};
+
+    /* Prefix bytes shift values across every position of a small read buffer */
+    private static byte[] encode(int prefix) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryWriter writer = new BinaryWriter(bytes, EndianType.LittleEndian, 8)) {
+            writer.write(new byte[prefix]);
+            writeValues(writer);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeValues(NumberWriter writer) throws IOException {
+        for (int v : INTS) {
+            writer.writeVarInt(v);
+            writer.writeZigZagInt(v);
+        }
+        for (long v : LONGS) {
+            writer.writeVarLong(v);
+            writer.writeZigZagLong(v);
+        }
+    }
+
+    private static void readValues(NumberReader reader) throws IOException {
+        for (int v : INTS) {
+            assertEquals(v, reader.readVarInt());
+            assertEquals(v, reader.readZigZagInt());
+        }
+        for (long v : LONGS) {
+            assertEquals(v, reader.readVarLong());
+            assertEquals(v, reader.readZigZagLong());
+        }
+    }
+
+    @Test
+    void roundTripsAtBufferEdges() throws IOException {
+        for (int prefix = 0; prefix < 40; ++prefix) {
+            byte[] data = encode(prefix);
+            for (int bufferSize : new int[]{8, 11, 16}) {
+                BinaryReader reader = new BinaryReader(new ByteArrayInputStream(data), EndianType.LittleEndian, bufferSize);
+                reader.skip(prefix);
+                readValues(reader);
+                assertEquals(-1, reader.read());
+            }
+        }
+    }
+
+    @Test
+    void roundTripsWithRetainedBytes() throws IOException {
+        byte[] data = encode(3);
+        BinaryReader marked = new BinaryReader(new ByteArrayInputStream(data), EndianType.LittleEndian, 8);
+        marked.mark(Integer.MAX_VALUE);
+        marked.skip(3);
+        readValues(marked);
+        marked.reset();
+        marked.skip(3);
+        readValues(marked);
+
+        BinaryReader window = new BinaryReader(new ByteArrayInputStream(data), EndianType.LittleEndian, 8);
+        window.setWindowSize(data.length);
+        window.skip(3);
+        readValues(window);
+    }
+
+    @Test
+    void matchesAcrossReadersAndWriters() throws IOException {
+        byte[] data = encode(0);
+
+        ByteBuffer buffer = ByteBuffer.allocate(data.length);
+        writeValues(new ByteBufferWriter(buffer));
+        assertArrayEquals(data, buffer.array());
+        readValues(new ByteBufferReader(ByteBuffer.wrap(data)));
+
+        OffHeapMemory memory = OffHeapMemory.allocate(data.length);
+        writeValues(new OffHeapWriter(memory));
+        byte[] copy = new byte[data.length];
+        memory.getBytes(0, copy, 0, copy.length);
+        assertArrayEquals(data, copy);
+        readValues(new OffHeapReader(memory));
+
+        readValues(new BigEndianNumberReader(new ByteArrayInputStream(data)));
+    }
+
+    @Test
+    void encodesLeb128() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (BinaryWriter writer = new BinaryWriter(bytes, EndianType.LittleEndian)) {
+            writer.writeVarInt(300);
+            writer.writeVarInt(-1);
+            writer.writeZigZagInt(-1);
+            writer.writeZigZagInt(1);
+        }
+        assertArrayEquals(new byte[]{(byte) 0xAC, 0x02, -1, -1, -1, -1, 0x0F, 0x01, 0x02}, bytes.toByteArray());
+    }
+
+    @Test
+    void rejectsTruncatedAndOverlongValues() {
+        BinaryReader truncated = new BinaryReader(new ByteArrayInputStream(new byte[]{(byte) 0x80, (byte) 0x80}), EndianType.LittleEndian, 8);
+        assertThrows(EOFException.class, truncated::readVarInt);
+
+        byte[] overlong = {-1, -1, -1, -1, -1, 0x01};
+        BinaryReader reader = new BinaryReader(new ByteArrayInputStream(overlong), EndianType.LittleEndian, 8);
+        assertThrows(IOException.class, reader::readVarInt);
+    }
+}
@@ -0,0 +1,154 @@
+/**
+ * MIT License
+ * <p>
+ * Copyright (c) 2023 Alexander Perfilev
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package local.tools.codec;
+
+import local.tools.bin.ByteBufferReader;
+import local.tools.bin.ByteBufferWriter;
+import local.tools.bin.EndianType;
+import local.tools.primitives.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class StructCodecsTest {
+
+    record Point(short x, @Endian(EndianType.LittleEndian) short y) {
+    }
+
+    @BinaryStruct
+    @Endian(EndianType.BigEndian)
+    record Sample(byte b, short s, int i, long l, float f, double d, boolean flag, char c,
+                  Int8 i8, Int16 i16, @Endian(EndianType.LittleEndian) Int32 i32, Int64 i64,
+                  UInt8 u8, UInt16 u16, UInt32 u32, @Endian(EndianType.LittleEndian) UInt64 u64,
+                  Float32 f32, Float64 f64, Point point) {
+    }
+
+    @BinaryStruct
+    static class Header {
+
+        @BinaryField(order = 2)
+        @Endian(EndianType.BigEndian)
+        UInt32 length;
+
+        @BinaryField(order = 1)
+        UInt16 version;
+
+        @BinaryField(order = 3)
+        Point origin;
+
+        @BinaryField(order = 4)
+        boolean last;
+
+        int unused;
+    }
+
+    private static Sample sample(Random random) {
+        return new Sample((byte) random.nextInt(), (short) random.nextInt(), random.nextInt(), random.nextLong(),
+                random.nextFloat(), random.nextDouble(), random.nextBoolean(), (char) random.nextInt(),
+                new Int8(random.nextInt(256) - 128), new Int16(random.nextInt(65536) - 32768),
+                new Int32(random.nextInt()), new Int64(random.nextLong()),
+                new UInt8(random.nextInt(256)), new UInt16(random.nextInt(65536)),
+                new UInt32(random.nextLong() & 0xffffffffL), new UInt64(random.nextLong()),
+                new Float32(random.nextFloat()), new Float64(random.nextDouble()),
+                new Point((short) random.nextInt(), (short) random.nextInt()));
+    }
+
+    private static Header header(Random random) {
+        Header header = new Header();
+        header.length = new UInt32(random.nextLong() & 0xffffffffL);
+        header.version = new UInt16(random.nextInt(65536));
+        header.origin = new Point((short) random.nextInt(), (short) random.nextInt());
+        header.last = random.nextBoolean();
+        return header;
+    }
+
+    private static <T> byte[] encode(StructCodec<T> codec, T value, EndianType endianType) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(codec.size());
+        codec.write(new ByteBufferWriter(buffer, endianType), value);
+        assertEquals(codec.size(), buffer.position(), "Encoded size of " + codec.type().getSimpleName());
+        return buffer.array();
+    }
+
+    private static <T> T decode(StructCodec<T> codec, byte[] data, EndianType endianType) throws IOException {
+        ByteBufferReader reader = new ByteBufferReader(ByteBuffer.wrap(data), endianType);
+        T value = codec.read(reader);
+        assertEquals(data.length, reader.getPosition(), "Decoded size of " + codec.type().getSimpleName());
+        return value;
+    }
+
+    @Test
+    void recordMatchesGeneratedCodec() throws IOException {
+        StructCodec<Sample> runtime = StructCodecs.of(Sample.class);
+        StructCodec<Sample> generated = StructCodecsTest_SampleCodec.INSTANCE;
+        assertEquals(StructCodecsTest_SampleCodec.SIZE, runtime.size());
+
+        Random random = new Random(1);
+        for (int n = 0; n < 100; ++n) {
+            Sample value = sample(random);
+            for (EndianType endianType : EndianType.values()) {
+                byte[] data = encode(runtime, value, endianType);
+                assertArrayEquals(data, encode(generated, value, endianType), endianType.name());
+                assertEquals(value, decode(runtime, data, endianType));
+                assertEquals(value, decode(generated, data, endianType));
+            }
+        }
+    }
+
+    @Test
+    void classMatchesGeneratedCodec() throws IOException {
+        StructCodec<Header> runtime = StructCodecs.of(Header.class);
+        StructCodec<Header> generated = StructCodecsTest_HeaderCodec.INSTANCE;
+        assertEquals(StructCodecsTest_HeaderCodec.SIZE, runtime.size());
+
+        Random random = new Random(2);
+        for (int n = 0; n < 100; ++n) {
+            Header value = header(random);
+            for (EndianType endianType : EndianType.values()) {
+                byte[] data = encode(runtime, value, endianType);
+                assertArrayEquals(data, encode(generated, value, endianType), endianType.name());
+                // Classes have no equals, so decoded values are compared by encoding them again
+                assertArrayEquals(data, encode(runtime, decode(generated, data, endianType), endianType));
+                assertArrayEquals(data, encode(generated, decode(runtime, data, endianType), endianType));
+            }
+        }
+    }
+
+    @Test
+    void appliesFieldOrderAndEndian() throws IOException {
+        Header header = new Header();
+        header.length = new UInt32(0x01020304L);
+        header.version = new UInt16(0x0506);
+        header.origin = new Point((short) 0x0708, (short) 0x090A);
+        header.last = true;
+
+        byte[] expected = {0x06, 0x05, 0x01, 0x02, 0x03, 0x04, 0x08, 0x07, 0x0A, 0x09, 0x01};
+        assertArrayEquals(expected, encode(StructCodecs.of(Header.class), header, EndianType.LittleEndian));
+        assertArrayEquals(expected, encode(StructCodecsTest_HeaderCodec.INSTANCE, header, EndianType.LittleEndian));
+    }
+}